@@ -0,0 +1,63 @@
+package com.votingplatform.benchmarks;
+
+import com.votingplatform.VotingPlatformApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the backend once per trial against a private in-memory H2 database
+ * in MySQL mode, for suites that need real Spring beans. Settings are passed
+ * as command-line arguments so they win over application.properties.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = boot("--server.port=0");
+    }
+
+    /**
+     * Starts the backend on a fresh in-memory database. Extra arguments are
+     * appended and override the defaults here, e.g. {@code --server.port=8080}.
+     */
+    public static ConfigurableApplicationContext boot(String... extraArgs) {
+        String database = "bench-" + UUID.randomUUID();
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database +
+                        ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.sql.init.mode=never",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.com.votingplatform=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(VotingPlatformApplication.class).run(args.toArray(String[]::new));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
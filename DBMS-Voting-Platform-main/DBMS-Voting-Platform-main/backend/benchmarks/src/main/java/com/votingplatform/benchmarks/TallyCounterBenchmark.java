@@ -0,0 +1,59 @@
+package com.votingplatform.benchmarks;
+
+import com.votingplatform.service.VoteTallyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Vote counting on a two-candidate poll where every thread hits the same
+ * counters: one AtomicLong per candidate, one LongAdder per candidate, and
+ * the real {@link VoteTallyService}. Run with -t 1, 4, 16 and 64 to see how
+ * each scales with contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TallyCounterBenchmark {
+
+    private static final long POLL_ID = 1L;
+    private static final String[] NAMES = {"Alice", "Bob"};
+
+    private final AtomicLong[] atomics = {new AtomicLong(), new AtomicLong()};
+    private final LongAdder[] adders = {new LongAdder(), new LongAdder()};
+    private final VoteTallyService tally = new VoteTallyService();
+
+    @Benchmark
+    public long atomicLong() {
+        return atomics[candidate()].incrementAndGet();
+    }
+
+    @Benchmark
+    public void longAdder() {
+        adders[candidate()].increment();
+    }
+
+    @Benchmark
+    public void voteTally() {
+        int candidate = candidate();
+        tally.recordVote(POLL_ID, (long) candidate, NAMES[candidate]);
+    }
+
+    private static int candidate() {
+        return ThreadLocalRandom.current().nextInt(2);
+    }
+}
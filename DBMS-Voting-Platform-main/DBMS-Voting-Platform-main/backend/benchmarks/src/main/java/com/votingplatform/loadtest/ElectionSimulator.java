@@ -0,0 +1,328 @@
+package com.votingplatform.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.votingplatform.benchmarks.BenchmarkContext;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a simulated election against the backend on an in-memory H2 database
+ * and reports latency percentiles and throughput per endpoint. Everything
+ * happens on localhost, so it can size a node without any network or MySQL.
+ *
+ * <ol>
+ *   <li>Provision: voters are imported from a generated .xlsx through the
+ *       admin import endpoint, then polls and candidates are created.</li>
+ *   <li>Login burst: every voter logs in at once.</li>
+ *   <li>Voting: every voter casts one vote per poll while results pollers
+ *       read the live results until the last ballot is in.</li>
+ * </ol>
+ *
+ * Options are {@code --name=value}; anything not listed in {@link Options}
+ * is passed to Spring, e.g. {@code --voting.ingestion.mode=WRITE_BEHIND}.
+ */
+public class ElectionSimulator {
+
+    private static final String LOGIN = "POST /api/auth/login";
+    private static final String VOTE = "POST /api/votes";
+    private static final String RESULTS = "GET /api/votes/poll/{id}/results";
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth", "Zoë", "José", "Anne-Marie", "Mohammed", "Wei", "Aoife"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "O'Neil", "Ångström", "Núñez", "Nguyen", "Kowalski", "Okafor"};
+
+    private final Options options;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final LoadClient client;
+    private final Random random;
+    private final Map<String, Long> wallNanos = new HashMap<>();
+
+    public ElectionSimulator(Options options, int port) {
+        this.options = options;
+        this.client = new LoadClient(port, recorder);
+        this.random = new Random(options.seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        List<String> springArgs = new ArrayList<>(options.springArgs);
+        springArgs.add(0, "--server.port=0");
+        ConfigurableApplicationContext app = BenchmarkContext.boot(springArgs.toArray(String[]::new));
+        try {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            new ElectionSimulator(options, port).run();
+        } finally {
+            app.close();
+        }
+    }
+
+    public void run() throws Exception {
+        String adminToken = client.login("admin@voting.com", "Admin@123");
+
+        long start = System.nanoTime();
+        List<Voter> voters = importVoters(adminToken);
+        List<Ballot> polls = createPolls(adminToken);
+        System.out.printf(Locale.ROOT, "Provisioned %d voters and %d polls in %.1fs%n",
+                voters.size(), polls.size(), (System.nanoTime() - start) / 1e9);
+
+        loginBurst(voters);
+        castVotes(voters, polls, adminToken);
+
+        List<LatencyRecorder.EndpointStats> report = recorder.summarise(wallNanos);
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-34s %9s %7s %10s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (LatencyRecorder.EndpointStats stats : report) {
+            System.out.printf(Locale.ROOT, "%-34s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.endpoint(), stats.requests(), stats.errors(), stats.throughput(),
+                    stats.p50Ms(), stats.p99Ms(), stats.p999Ms(), stats.maxMs());
+        }
+    }
+
+    private List<Voter> importVoters(String adminToken) throws InterruptedException {
+        String boundary = UUID.randomUUID().toString();
+        byte[] body = multipart(boundary, "file", "voters.xlsx", voterSheet());
+        JsonNode job = client.send(client.request("/api/admin/voters/import", adminToken)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+        String jobId = job.path("jobId").asText();
+
+        while (true) {
+            JsonNode progress = client.send(client.get("/api/admin/voters/import/" + jobId + "/progress", adminToken));
+            String status = progress.path("status").asText();
+            if ("COMPLETED".equals(status)) {
+                break;
+            }
+            if ("FAILED".equals(status)) {
+                throw new IllegalStateException("Voter import failed: " + progress.path("error").asText());
+            }
+            Thread.sleep(200);
+        }
+
+        List<Voter> voters = new ArrayList<>();
+        for (JsonNode row : client.send(client.get("/api/admin/voters/import/" + jobId + "/results", adminToken))) {
+            voters.add(new Voter(row.path("email").asText(), row.path("temporaryPassword").asText()));
+        }
+        return voters;
+    }
+
+    private byte[] voterSheet() {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Voters");
+            sheet.createRow(0).createCell(0).setCellValue("Name");
+            for (int i = 1; i <= options.voters; i++) {
+                // Repeated names are expected and go through the import's e-mail suffixing.
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " +
+                        LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            workbook.dispose();
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] multipart(String boundary, String field, String fileName, byte[] content) {
+        String head = "--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"" + field + "\"; filename=\"" + fileName + "\"\r\n" +
+                "Content-Type: application/vnd.openxmlformats-officedocument.spreadsheetml.sheet\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(head.getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(content);
+        out.writeBytes(tail.getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private List<Ballot> createPolls(String adminToken) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Ballot> polls = new ArrayList<>();
+        for (int p = 1; p <= options.polls; p++) {
+            JsonNode poll = client.send(client.post("/api/polls", adminToken, Map.of(
+                    "title", "Load test poll " + p,
+                    "description", "Simulated election",
+                    "startDate", now.minusMinutes(1).toString(),
+                    "endDate", now.plusDays(1).toString())));
+            long pollId = poll.path("id").asLong();
+            List<Long> candidateIds = new ArrayList<>();
+            for (int c = 1; c <= options.candidates; c++) {
+                JsonNode candidate = client.send(client.post("/api/polls/" + pollId + "/candidates", adminToken,
+                        Map.of("name", "Candidate " + c, "description", "")));
+                candidateIds.add(candidate.path("id").asLong());
+            }
+            polls.add(new Ballot(pollId, candidateIds));
+        }
+        return polls;
+    }
+
+    private void loginBurst(List<Voter> voters) throws Exception {
+        System.out.printf(Locale.ROOT, "Logging in %d voters with %d clients%n", voters.size(), options.concurrency);
+        long start = System.nanoTime();
+        runAll(options.concurrency, voters, voter -> {
+            JsonNode body = client.readJson(client.timed(LOGIN, client.post("/api/auth/login", null,
+                    Map.of("email", voter.email, "password", voter.password))).body());
+            voter.token = body.path("token").asText(null);
+        });
+        wallNanos.put(LOGIN, System.nanoTime() - start);
+    }
+
+    private void castVotes(List<Voter> voters, List<Ballot> polls, String adminToken) throws Exception {
+        // Voters arrive in random order; each picks a random candidate in every poll.
+        List<Runnable> ballots = new ArrayList<>();
+        List<String> viewerTokens = new ArrayList<>();
+        for (Voter voter : voters) {
+            if (voter.token == null) {
+                continue;
+            }
+            viewerTokens.add(voter.token);
+            for (Ballot poll : polls) {
+                long candidateId = poll.candidateIds.get(random.nextInt(poll.candidateIds.size()));
+                ballots.add(() -> client.timed(VOTE, client.post("/api/votes", voter.token,
+                        Map.of("pollId", poll.pollId, "candidateId", candidateId))));
+            }
+        }
+        if (viewerTokens.isEmpty()) {
+            viewerTokens.add(adminToken);
+        }
+        Collections.shuffle(ballots, random);
+        System.out.printf(Locale.ROOT, "Casting %d votes with %d clients while %d clients poll results%n",
+                ballots.size(), options.concurrency, options.pollers);
+
+        AtomicBoolean voting = new AtomicBoolean(true);
+        AtomicLong resultReads = new AtomicLong();
+        ExecutorService readers = Executors.newFixedThreadPool(Math.max(options.pollers, 1));
+        List<Future<?>> polling = new ArrayList<>();
+        for (int i = 0; i < options.pollers; i++) {
+            String token = viewerTokens.get(i % viewerTokens.size());
+            polling.add(readers.submit(() -> {
+                while (voting.get()) {
+                    Ballot poll = polls.get((int) (resultReads.getAndIncrement() % polls.size()));
+                    try {
+                        client.timed(RESULTS, client.get("/api/votes/poll/" + poll.pollId + "/results", token));
+                    } catch (RuntimeException e) {
+                        // Already recorded as an error.
+                    }
+                }
+            }));
+        }
+
+        long start = System.nanoTime();
+        try {
+            runAll(options.concurrency, ballots, Runnable::run);
+        } finally {
+            voting.set(false);
+            long wall = System.nanoTime() - start;
+            wallNanos.put(VOTE, wall);
+            wallNanos.put(RESULTS, wall);
+            for (Future<?> poller : polling) {
+                poller.get();
+            }
+            readers.shutdown();
+        }
+
+        for (Ballot poll : polls) {
+            JsonNode results = client.send(client.get("/api/votes/poll/" + poll.pollId + "/results", adminToken));
+            long total = 0;
+            for (JsonNode candidate : results) {
+                total += candidate.path("votes").asLong();
+            }
+            System.out.printf(Locale.ROOT, "Poll %d: %d votes counted%n", poll.pollId, total);
+        }
+    }
+
+    /** Runs one task per item on {@code threads} closed-loop clients; failed calls are already recorded. */
+    private static <T> void runAll(int threads, List<T> items, Task<T> task) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            clients.execute(() -> {
+                for (int index = next.getAndIncrement(); index < items.size(); index = next.getAndIncrement()) {
+                    try {
+                        task.run(items.get(index));
+                    } catch (RuntimeException e) {
+                        // Counted against the endpoint by LoadClient.timed.
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.DAYS);
+    }
+
+    private interface Task<T> {
+        void run(T item);
+    }
+
+    private static final class Voter {
+        final String email;
+        final String password;
+        volatile String token;
+
+        Voter(String email, String password) {
+            this.email = email;
+            this.password = password;
+        }
+    }
+
+    private record Ballot(long pollId, List<Long> candidateIds) {
+    }
+
+    /** Simulator settings. Provisioning and logins are BCrypt-bound, so voters drives the run time. */
+    static final class Options {
+        int voters = 1000;
+        int polls = 2;
+        int candidates = 5;
+        int concurrency = 64;
+        int pollers = 16;
+        long seed = 42;
+        final List<String> springArgs = new ArrayList<>();
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                String name = arg.startsWith("--") && eq > 2 ? arg.substring(2, eq) : "";
+                String value = eq > 0 ? arg.substring(eq + 1) : "";
+                switch (name) {
+                    case "voters" -> options.voters = Integer.parseInt(value);
+                    case "polls" -> options.polls = Integer.parseInt(value);
+                    case "candidates" -> options.candidates = Integer.parseInt(value);
+                    case "concurrency" -> options.concurrency = Integer.parseInt(value);
+                    case "pollers" -> options.pollers = Integer.parseInt(value);
+                    case "seed" -> options.seed = Long.parseLong(value);
+                    default -> options.springArgs.add(arg);
+                }
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.votingplatform.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Raw request latencies per endpoint, kept in full so the percentiles are
+ * exact. A run records a few million samples at most, which is a few dozen
+ * megabytes of longs.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long nanos, boolean ok) {
+        endpoints.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, ok);
+    }
+
+    /** Summarises every endpoint; throughput is measured over {@code wallNanos} of its phase. */
+    public List<EndpointStats> summarise(Map<String, Long> wallNanos) {
+        return endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().summarise(entry.getKey(), wallNanos.getOrDefault(entry.getKey(), 0L)))
+                .toList();
+    }
+
+    public record EndpointStats(String endpoint, int requests, int errors, double throughput,
+                                double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void add(long value, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats summarise(String endpoint, long wallNanos) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            double throughput = wallNanos > 0 ? size / (wallNanos / 1e9) : 0;
+            return new EndpointStats(endpoint, size, errors, throughput,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    size == 0 ? 0 : sorted[size - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            // Nearest rank: the smallest sample with at least this share of samples at or below it.
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.votingplatform.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Blocking JSON client for the backend on localhost. Calls made through
+ * {@link #timed} are recorded under their endpoint name; the setup calls are
+ * not, so they do not skew the report.
+ */
+public class LoadClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    public LoadClient(int port, LatencyRecorder recorder) {
+        this.baseUrl = "http://localhost:" + port;
+        this.recorder = recorder;
+    }
+
+    public HttpRequest.Builder get(String path, String token) {
+        return request(path, token).GET();
+    }
+
+    public HttpRequest.Builder post(String path, String token, Object body) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)));
+    }
+
+    public HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    /** Sends a setup request and returns its JSON body, failing on any non-2xx status. */
+    public JsonNode send(HttpRequest.Builder request) {
+        HttpResponse<String> response = execute(request.build());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri() +
+                    " returned " + response.statusCode() + ": " + response.body());
+        }
+        return readJson(response.body());
+    }
+
+    /** Sends a measured request; any non-2xx status counts as an error for the endpoint. */
+    public HttpResponse<String> timed(String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = execute(request.build());
+            return response;
+        } finally {
+            recorder.record(endpoint, System.nanoTime() - start,
+                    response != null && response.statusCode() / 100 == 2);
+        }
+    }
+
+    public String login(String email, String password) {
+        return send(post("/api/auth/login", null, Map.of("email", email, "password", password)))
+                .path("token").asText();
+    }
+
+    public JsonNode readJson(String body) {
+        try {
+            return body == null || body.isEmpty() ? objectMapper.nullNode() : objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpResponse<String> execute(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling " + request.uri(), e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
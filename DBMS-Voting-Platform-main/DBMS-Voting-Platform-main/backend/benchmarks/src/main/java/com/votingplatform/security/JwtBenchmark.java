@@ -0,0 +1,55 @@
+package com.votingplatform.security;
+
+import com.votingplatform.benchmarks.BenchmarkContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing and verification as done on every login and request. The
+ * cached path is what the filter sees for a token it verified recently; the
+ * full parse is the first request with a token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String EMAIL = "voter1@voting.com";
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp(BenchmarkContext app) {
+        tokenProvider = app.bean(JwtTokenProvider.class);
+        token = tokenProvider.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public String sign() {
+        return tokenProvider.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public String verifyCached() {
+        return tokenProvider.verifyAndGetSubject(token);
+    }
+
+    @Benchmark
+    public String verifyFullParse() {
+        return tokenProvider.getEmailFromToken(token);
+    }
+}
@@ -0,0 +1,81 @@
+package com.votingplatform.service;
+
+import com.votingplatform.benchmarks.BenchmarkContext;
+import com.votingplatform.entity.Candidate;
+import com.votingplatform.entity.LedgerEntry;
+import com.votingplatform.entity.Poll;
+import com.votingplatform.entity.User;
+import com.votingplatform.entity.Vote;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ledger costs: one SHA-256 over a vote's hashed data, one entry appended
+ * and committed to H2 (waiting for its batch), and the fire-and-forget
+ * {@link LedgerService#recordVoteCast} used by the vote path, which is
+ * bounded by the appender once its ring buffer fills.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LedgerBenchmark {
+
+    private static final String CRITICAL_DATA = "poll:42|candidate:7|user:123456|ip:203.0.113.10";
+
+    private final MessageDigest digest = LedgerAppender.sha256();
+
+    @State(Scope.Benchmark)
+    public static class Ledger {
+
+        LedgerAppender appender;
+        LedgerService ledgerService;
+        Vote vote;
+
+        @Setup
+        public void setUp(BenchmarkContext app) {
+            appender = app.bean(LedgerAppender.class);
+            ledgerService = app.bean(LedgerService.class);
+
+            Poll poll = new Poll();
+            poll.setId(42L);
+            Candidate candidate = new Candidate();
+            candidate.setId(7L);
+            User user = new User();
+            user.setId(123456L);
+            vote = new Vote();
+            vote.setPoll(poll);
+            vote.setCandidate(candidate);
+            vote.setUser(user);
+            vote.setIpAddress("203.0.113.10");
+        }
+    }
+
+    @Benchmark
+    public String hash() {
+        return LedgerAppender.hash(digest, CRITICAL_DATA);
+    }
+
+    @Benchmark
+    public LedgerEntry appendAndCommit(Ledger ledger) {
+        return ledger.appender.append(LedgerEntry.EntityType.VOTE, "CAST", 42L, CRITICAL_DATA, "benchmark").join();
+    }
+
+    @Benchmark
+    public void recordVoteCast(Ledger ledger) {
+        ledger.ledgerService.recordVoteCast(ledger.vote);
+    }
+}
@@ -0,0 +1,86 @@
+package com.votingplatform.service;
+
+import com.votingplatform.benchmarks.BenchmarkContext;
+import com.votingplatform.dto.VoteResultDTO;
+import com.votingplatform.repository.VoteRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Reading one poll's results: from the in-memory tally versus aggregating
+ * the votes table with the repository query. The poll is seeded through
+ * JDBC with {@code votes} voters spread over five candidates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultsBenchmark {
+
+    private static final int CANDIDATES = 5;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"10000", "100000"})
+    private int votes;
+
+    private VoteTallyService voteTallyService;
+    private VoteRepository voteRepository;
+    private long pollId;
+
+    @Setup
+    public void setUp(BenchmarkContext app) {
+        voteTallyService = app.bean(VoteTallyService.class);
+        voteRepository = app.bean(VoteRepository.class);
+        JdbcTemplate jdbc = app.bean(JdbcTemplate.class);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.update("INSERT INTO polls (title, description, start_date, end_date, status, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                "Benchmark poll", "", now, Timestamp.valueOf(LocalDateTime.now().plusDays(1)), "ACTIVE", now);
+        pollId = jdbc.queryForObject("SELECT MAX(id) FROM polls", Long.class);
+        jdbc.batchUpdate("INSERT INTO candidates (name, poll_id) VALUES (?, ?)",
+                IntStream.range(0, CANDIDATES).mapToObj(i -> new Object[] {"Candidate " + i, pollId}).toList());
+        List<Long> candidateIds = jdbc.queryForList("SELECT id FROM candidates WHERE poll_id = ? ORDER BY id", Long.class, pollId);
+
+        List<Object[]> users = IntStream.range(0, votes)
+                .mapToObj(i -> new Object[] {"Voter " + i, "bench" + i + "@voting.com", "x", "VOTER", now})
+                .toList();
+        jdbc.batchUpdate("INSERT INTO users (name, email, password, role, created_at) VALUES (?, ?, ?, ?, ?)", users);
+        List<Long> userIds = jdbc.queryForList("SELECT id FROM users WHERE email LIKE 'bench%' ORDER BY id", Long.class);
+
+        for (int from = 0; from < userIds.size(); from += BATCH_SIZE) {
+            List<Object[]> batch = IntStream.range(from, Math.min(from + BATCH_SIZE, userIds.size()))
+                    .mapToObj(i -> new Object[] {pollId, candidateIds.get(i % CANDIDATES), userIds.get(i), now, "127.0.0.1"})
+                    .toList();
+            jdbc.batchUpdate("INSERT INTO votes (poll_id, candidate_id, user_id, voted_at, ip_address) VALUES (?, ?, ?, ?, ?)", batch);
+        }
+        voteTallyService.rebuild();
+    }
+
+    @Benchmark
+    public List<VoteResultDTO> inMemoryTally() {
+        return voteTallyService.getResults(pollId);
+    }
+
+    @Benchmark
+    public List<Object[]> sqlAggregation() {
+        return voteRepository.getPollResults(pollId);
+    }
+}
@@ -0,0 +1,81 @@
+package com.votingplatform.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Instant-runoff and approval counts over synthetic ballots held in
+ * {@link BallotColumns}, on one thread ({@code parallelism=1}) versus a
+ * fork-join pool with one thread per CPU ({@code parallelism=0}). Ballots
+ * rank a random 1–5 of ten candidates with a skew towards low ids, so the
+ * runoff goes through several rounds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TabulationBenchmark {
+
+    private static final int CANDIDATES = 10;
+    private static final int SPLIT_THRESHOLD = 65536;
+
+    @Param({"1000000"})
+    private int ballots;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private BallotColumns.Snapshot snapshot;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        BallotColumns columns = new BallotColumns();
+        for (int b = 0; b < ballots; b++) {
+            long[] ranking = random.longs(0, CANDIDATES)
+                    .map(c -> random.nextBoolean() ? c / 2 : c)
+                    .map(c -> c + 1)
+                    .distinct()
+                    .limit(1 + random.nextInt(5))
+                    .toArray();
+            columns.append(ranking);
+        }
+        List<Long> candidateIds = LongStream.rangeClosed(1, CANDIDATES).boxed().toList();
+        snapshot = columns.snapshot(candidateIds);
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Tabulator.Result instantRunoff() {
+        return Tabulator.instantRunoff(snapshot, pool, SPLIT_THRESHOLD);
+    }
+
+    @Benchmark
+    public Tabulator.Result approval() {
+        return Tabulator.approval(snapshot, pool, SPLIT_THRESHOLD);
+    }
+}
@@ -0,0 +1,41 @@
+package com.votingplatform.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Per-row work of a voter import: e-mail local part from a name and a temporary password. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VoterNameBenchmark {
+
+    @State(Scope.Thread)
+    public static class Names {
+
+        @Param({"John Smith", "Zoë Ångström-Núñez", "  mary   o'neil  jr. "})
+        String name;
+    }
+
+    @Benchmark
+    public String sanitizeName(Names names) {
+        return VoterImportService.sanitizeName(names.name);
+    }
+
+    @Benchmark
+    public String generateTemporaryPassword() {
+        return VoterImportService.generateTemporaryPassword();
+    }
+}
@@ -2,16 +2,18 @@ package com.votingplatform.config;
 
 import com.votingplatform.entity.User;
 import com.votingplatform.repository.UserRepository;
+import com.votingplatform.security.PasswordHashingExecutor;
+import com.votingplatform.service.VoterSearchIndex;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class DataInitializer {
 
     @Bean
-    CommandLineRunner initDatabase(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    CommandLineRunner initDatabase(UserRepository userRepository, PasswordHashingExecutor passwordHashing,
+                                   VoterSearchIndex voterSearchIndex) {
         return args -> {
             // Check if users already exist
             if (userRepository.count() == 0) {
@@ -19,7 +21,7 @@ public class DataInitializer {
                 User admin = new User();
                 admin.setName("Admin User");
                 admin.setEmail("admin@voting.com");
-                admin.setPassword(passwordEncoder.encode("Admin@123"));
+                admin.setPassword(passwordHashing.encode("Admin@123", User.Role.ADMIN, PasswordHashingExecutor.Priority.REGISTER));
                 admin.setRole(User.Role.ADMIN);
                 userRepository.save(admin);
                 System.out.println("✅ Admin user created - Email: admin@voting.com, Password: Admin@123");
@@ -28,7 +30,7 @@ public class DataInitializer {
                 User voter1 = new User();
                 voter1.setName("John Doe");
                 voter1.setEmail("voter1@voting.com");
-                voter1.setPassword(passwordEncoder.encode("Voter@123"));
+                voter1.setPassword(passwordHashing.encode("Voter@123", User.Role.VOTER, PasswordHashingExecutor.Priority.REGISTER));
                 voter1.setRole(User.Role.VOTER);
                 userRepository.save(voter1);
                 System.out.println("✅ Voter1 user created - Email: voter1@voting.com, Password: Voter@123");
@@ -37,7 +39,7 @@ public class DataInitializer {
                 User voter2 = new User();
                 voter2.setName("Jane Smith");
                 voter2.setEmail("voter2@voting.com");
-                voter2.setPassword(passwordEncoder.encode("Voter@123"));
+                voter2.setPassword(passwordHashing.encode("Voter@123", User.Role.VOTER, PasswordHashingExecutor.Priority.REGISTER));
                 voter2.setRole(User.Role.VOTER);
                 userRepository.save(voter2);
                 System.out.println("✅ Voter2 user created - Email: voter2@voting.com, Password: Voter@123");
@@ -46,10 +48,11 @@ public class DataInitializer {
                 User candidate = new User();
                 candidate.setName("Alex Johnson");
                 candidate.setEmail("candidate@voting.com");
-                candidate.setPassword(passwordEncoder.encode("Candidate@123"));
+                candidate.setPassword(passwordHashing.encode("Candidate@123", User.Role.VOTER, PasswordHashingExecutor.Priority.REGISTER));
                 candidate.setRole(User.Role.VOTER); // Candidates are voters by role
                 userRepository.save(candidate);
                 System.out.println("✅ Candidate user created - Email: candidate@voting.com, Password: Candidate@123");
+                voterSearchIndex.rebuild();
                 
                 System.out.println("\n📋 DEFAULT CREDENTIALS SUMMARY:");
                 System.out.println("================================");
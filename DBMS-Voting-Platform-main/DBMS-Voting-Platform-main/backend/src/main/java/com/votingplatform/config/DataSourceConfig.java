@@ -0,0 +1,61 @@
+package com.votingplatform.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the pooled DataSource so virtual request threads share a bounded
+ * number of connections. See {@link ConcurrencyLimitedDataSource}.
+ *
+ * <p>The bound is what the pool has left after one connection for every
+ * platform thread that uses the database: the ledger and vote writers, the
+ * lifecycle thread, the close, import and ledger-verify pools, and the
+ * scheduler. A configured {@code voting.db.max-concurrency} can only lower it.
+ * Startup fails if the pool is too small to leave any.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    // ledger-appender, vote-ingestion-writer and poll-lifecycle
+    private static final int SINGLE_WRITER_THREADS = 3;
+
+    @Bean
+    public static BeanPostProcessor dataSourceConcurrencyLimiter(
+            @Value("${voting.db.max-concurrency:-1}") int configuredConcurrency,
+            @Value("${voting.db.acquire-timeout-ms:30000}") long acquireTimeoutMs,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${voting.lifecycle.close-threads:2}") int closeThreads,
+            @Value("${voting.import.workers:1}") int importWorkers,
+            @Value("${ledger.verify.threads:4}") int verifyThreads,
+            @Value("${spring.task.scheduling.pool.size:1}") int schedulerThreads) {
+        int reserved = SINGLE_WRITER_THREADS + closeThreads + importWorkers + verifyThreads + schedulerThreads;
+        int headroom = poolSize - reserved;
+        if (configuredConcurrency != 0 && headroom < 1) {
+            throw new IllegalStateException("spring.datasource.hikari.maximum-pool-size=" + poolSize +
+                    " leaves no connections for request threads; the background threads need " + reserved);
+        }
+        int maxConcurrency = configuredConcurrency < 0 ? headroom : Math.min(configuredConcurrency, headroom);
+        if (configuredConcurrency > headroom) {
+            log.warn("voting.db.max-concurrency={} lowered to {}: {} of the {} pooled connections are kept for background threads",
+                    configuredConcurrency, headroom, reserved, poolSize);
+        }
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (maxConcurrency > 0 && bean instanceof DataSource dataSource &&
+                        !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.votingplatform.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Enables {@code @Timed} on Spring beans. Services carry a class-level
+ * {@code @Timed("voting.service")}, so every public call through the proxy is
+ * recorded under one timer tagged with class and method; repository calls
+ * and HTTP requests are timed by Spring Boot itself. Background threads
+ * (vote ingestion, ledger appender, imports) record their own meters.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitedDataSource limited) {
+                Gauge.builder("voting.db.permits.available", limited, ConcurrencyLimitedDataSource::getAvailablePermits)
+                        .register(registry);
+                Gauge.builder("voting.db.permits.waiting", limited, ConcurrencyLimitedDataSource::getWaiting)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -1,17 +1,28 @@
 package com.votingplatform.controller;
 
+import com.votingplatform.dto.LedgerProofDTO;
+import com.votingplatform.dto.LedgerVerificationDTO;
 import com.votingplatform.entity.LedgerEntry;
 import com.votingplatform.repository.LedgerEntryRepository;
+import com.votingplatform.service.LedgerCheckpointService;
+import com.votingplatform.service.LedgerService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/ledger")
@@ -22,9 +33,36 @@ public class LedgerController {
     @Autowired
     private LedgerEntryRepository ledgerEntryRepository;
 
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerCheckpointService checkpointService;
+
     @GetMapping
-    public List<LedgerEntry> getAllEntries() {
-        return ledgerEntryRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
+    public ResponseEntity<List<LedgerEntry>> getEntries(@RequestParam(required = false) Long beforeId,
+                                                        @RequestParam(defaultValue = "200") int limit,
+                                                        @RequestParam(required = false) LedgerEntry.EntityType entityType,
+                                                        @RequestParam(required = false) Long entityId) {
+        List<LedgerEntry> entries = ledgerService.getPage(beforeId, limit, entityType, entityId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        // A short page is the oldest one
+        if (entries.size() == ledgerService.pageSize(limit)) {
+            response.header("X-Next-Cursor", String.valueOf(entries.get(entries.size() - 1).getId()));
+        }
+        return response.body(entries);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEntries(@RequestParam(required = false) LedgerEntry.EntityType entityType,
+                                                               @RequestParam(required = false) Long entityId) {
+        // Checked before streaming starts, so a bad filter is still answered with 400
+        ledgerService.checkFilter(entityType, entityId);
+        StreamingResponseBody body = out -> ledgerService.exportEntries(out, entityType, entityId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ledger.ndjson\"")
+                .body(body);
     }
 
     @GetMapping("/latest")
@@ -33,4 +71,29 @@ public class LedgerController {
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.noContent().build());
     }
+
+    @GetMapping("/verify")
+    public ResponseEntity<LedgerVerificationDTO> verifyRange(@RequestParam(required = false) Long fromId,
+                                                             @RequestParam(required = false) Long toId) {
+        return ResponseEntity.ok(checkpointService.verifyRange(fromId, toId));
+    }
+
+    @GetMapping("/proof/{entryId}")
+    public ResponseEntity<?> proveInclusion(@PathVariable Long entryId) {
+        try {
+            LedgerProofDTO proof = checkpointService.proveInclusion(entryId);
+            return ResponseEntity.ok(proof);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badFilter(IllegalArgumentException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(error);
+    }
 }
@@ -3,7 +3,6 @@ package com.votingplatform.controller;
 import com.votingplatform.dto.PollRequest;
 import com.votingplatform.entity.Candidate;
 import com.votingplatform.entity.Poll;
-import com.votingplatform.repository.CandidateRepository;
 import com.votingplatform.service.PollService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -21,14 +20,15 @@ public class PollController {
     @Autowired
     private PollService pollService;
 
-    @Autowired
-    private CandidateRepository candidateRepository;
-
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Poll> createPoll(@RequestBody PollRequest request) {
-        Poll poll = pollService.createPoll(request);
-        return ResponseEntity.ok(poll);
+    public ResponseEntity<?> createPoll(@RequestBody PollRequest request) {
+        try {
+            Poll poll = pollService.createPoll(request);
+            return ResponseEntity.ok(poll);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     @GetMapping
@@ -51,9 +51,13 @@ public class PollController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Poll> updatePoll(@PathVariable Long id, @RequestBody PollRequest request) {
-        Poll poll = pollService.updatePoll(id, request);
-        return ResponseEntity.ok(poll);
+    public ResponseEntity<?> updatePoll(@PathVariable Long id, @RequestBody PollRequest request) {
+        try {
+            Poll poll = pollService.updatePoll(id, request);
+            return ResponseEntity.ok(poll);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -79,21 +83,14 @@ public class PollController {
 
     @GetMapping("/{pollId}/candidates")
     public ResponseEntity<List<Candidate>> getCandidatesByPollId(@PathVariable Long pollId) {
-        List<Candidate> candidates = candidateRepository.findByPollId(pollId);
+        List<Candidate> candidates = pollService.getCandidates(pollId);
         return ResponseEntity.ok(candidates);
     }
 
     @PostMapping("/{pollId}/candidates")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Candidate> addCandidate(@PathVariable Long pollId, @RequestBody Map<String, String> request) {
-        Poll poll = pollService.getPollById(pollId);
-        
-        Candidate candidate = new Candidate();
-        candidate.setName(request.get("name"));
-        candidate.setDescription(request.get("description"));
-        candidate.setPoll(poll);
-        
-        Candidate savedCandidate = candidateRepository.save(candidate);
+        Candidate savedCandidate = pollService.addCandidate(pollId, request.get("name"), request.get("description"));
         return ResponseEntity.ok(savedCandidate);
     }
 }
@@ -1,17 +1,35 @@
 package com.votingplatform.controller;
 
+import com.votingplatform.dto.BallotCastRequest;
+import com.votingplatform.dto.BallotOutcomeDTO;
+import com.votingplatform.dto.BallotReceiptDTO;
+import com.votingplatform.dto.BallotRequest;
+import com.votingplatform.dto.PreferenceVoteRequest;
+import com.votingplatform.dto.TabulationResultDTO;
+import com.votingplatform.dto.VoteReceiptDTO;
 import com.votingplatform.dto.VoteRequest;
 import com.votingplatform.dto.VoteResultDTO;
+import com.votingplatform.entity.PollResult;
 import com.votingplatform.entity.Vote;
+import com.votingplatform.service.ResultsPushService;
+import com.votingplatform.service.ServiceBusyException;
 import com.votingplatform.service.VoteService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/votes")
@@ -21,11 +39,20 @@ public class VoteController {
     @Autowired
     private VoteService voteService;
 
+    @Autowired
+    private ResultsPushService resultsPushService;
+
     @PostMapping
     public ResponseEntity<?> castVote(@RequestBody VoteRequest request, HttpServletRequest httpRequest) {
         try {
+            if (voteService.isWriteBehind()) {
+                VoteReceiptDTO receipt = voteService.submitVote(request, httpRequest);
+                return ResponseEntity.accepted().body(receipt);
+            }
             Vote vote = voteService.castVote(request, httpRequest);
             return ResponseEntity.ok(vote);
+        } catch (ServiceBusyException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
@@ -33,6 +60,69 @@ public class VoteController {
         }
     }
 
+    @PostMapping("/ballot")
+    public ResponseEntity<?> castBallot(@RequestBody BallotCastRequest request, HttpServletRequest httpRequest) {
+        try {
+            BallotReceiptDTO receipt = voteService.castBallot(request, httpRequest);
+            return ResponseEntity.ok(receipt);
+        } catch (ServiceBusyException e) {
+            return serviceBusy(e);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Ballot for a ranked poll (candidates in preference order) or an
+     * approval poll (every approved candidate).
+     */
+    @PostMapping("/preference")
+    public ResponseEntity<?> castPreferenceVote(@RequestBody PreferenceVoteRequest request, HttpServletRequest httpRequest) {
+        try {
+            return ResponseEntity.ok(voteService.castPreferenceVote(request, httpRequest));
+        } catch (ServiceBusyException e) {
+            return serviceBusy(e);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Batch upload for kiosks and proxies that collect ballots offline. Each
+     * ballot names its voter; the response has one outcome per ballot.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> castVoteBatch(@RequestBody List<BallotRequest> ballots, HttpServletRequest httpRequest) {
+        try {
+            List<BallotOutcomeDTO> outcomes = voteService.castVoteBatch(ballots, httpRequest);
+            return ResponseEntity.ok(outcomes);
+        } catch (ServiceBusyException e) {
+            return serviceBusy(e);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping("/receipts/{receiptId}")
+    public ResponseEntity<VoteReceiptDTO> getReceipt(@PathVariable String receiptId) {
+        return voteService.getReceipt(receiptId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/ingestion")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getIngestionStatus() {
+        return ResponseEntity.ok(voteService.getIngestionStatus());
+    }
+
     @GetMapping("/poll/{pollId}/user")
     public ResponseEntity<Map<String, Boolean>> hasUserVoted(@PathVariable Long pollId) {
         boolean hasVoted = voteService.hasUserVoted(pollId);
@@ -42,11 +132,41 @@ public class VoteController {
     }
 
     @GetMapping("/poll/{pollId}/results")
-    public ResponseEntity<List<VoteResultDTO>> getPollResults(@PathVariable Long pollId) {
+    public ResponseEntity<?> getPollResults(@PathVariable Long pollId) {
+        Optional<PollResult> snapshot = voteService.getFinalResults(pollId);
+        if (snapshot.isPresent()) {
+            // Final results never change: a matching If-None-Match gets a 304 without a body.
+            PollResult result = snapshot.get();
+            String etag = result.getLedgerHash() != null ? result.getLedgerHash() : result.getResultsHash();
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(result.getResults());
+        }
         List<VoteResultDTO> results = voteService.getPollResults(pollId);
         return ResponseEntity.ok(results);
     }
 
+    @GetMapping("/poll/{pollId}/tabulation")
+    public ResponseEntity<?> getTabulation(@PathVariable Long pollId) {
+        try {
+            TabulationResultDTO tabulation = voteService.getTabulation(pollId);
+            return ResponseEntity.ok(tabulation);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping(value = "/poll/{pollId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPollResults(@PathVariable Long pollId) {
+        return resultsPushService.subscribe(pollId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/history")
     public ResponseEntity<?> getUserVoteHistory() {
         try {
@@ -56,4 +176,12 @@ public class VoteController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    private static ResponseEntity<Map<String, String>> serviceBusy(ServiceBusyException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
+    }
 }
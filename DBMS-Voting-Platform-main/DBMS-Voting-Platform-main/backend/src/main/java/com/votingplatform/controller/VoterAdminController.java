@@ -1,9 +1,14 @@
 package com.votingplatform.controller;
 
+import com.votingplatform.dto.ImportProgressDTO;
 import com.votingplatform.dto.VoterProvisionDTO;
 import com.votingplatform.dto.VoterSearchDTO;
+import com.votingplatform.service.ServiceBusyException;
 import com.votingplatform.service.VoterAdminService;
+import com.votingplatform.service.VoterImportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -19,24 +24,76 @@ import java.util.Map;
 @PreAuthorize("hasRole('ADMIN')")
 public class VoterAdminController {
 
+    private static final String IMPORT_JOB_HEADER = "X-Import-Job-Id";
+
     @Autowired
     private VoterAdminService voterAdminService;
 
+    @Autowired
+    private VoterImportService voterImportService;
+
     @PostMapping("/import")
     public ResponseEntity<?> importVoters(@RequestParam("file") MultipartFile file) {
         try {
-            List<VoterProvisionDTO> results = voterAdminService.importVoters(file);
-            return ResponseEntity.ok(results);
+            ImportProgressDTO job = voterImportService.submitImport(file);
+            return ResponseEntity.accepted()
+                    .header(IMPORT_JOB_HEADER, job.getJobId())
+                    .body(job);
         } catch (IllegalArgumentException ex) {
-            Map<String, String> error = new HashMap<>();
-            error.put("message", ex.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.badRequest().body(error(ex.getMessage()));
+        } catch (ServiceBusyException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                    .body(error(ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/import/{jobId}/progress")
+    public ResponseEntity<ImportProgressDTO> getImportProgress(@PathVariable String jobId) {
+        return voterImportService.getProgress(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/import/{jobId}/results")
+    public ResponseEntity<List<VoterProvisionDTO>> getImportResults(@PathVariable String jobId) {
+        return voterImportService.getResults(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/import/{jobId}/resume")
+    public ResponseEntity<?> resumeImport(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.accepted().body(voterImportService.resumeImport(jobId));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(error(ex.getMessage()));
+        } catch (ServiceBusyException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                    .body(error(ex.getMessage()));
+        }
+    }
+
+    @PostMapping("/import/{jobId}/reissue-passwords")
+    public ResponseEntity<?> reissuePasswords(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(voterImportService.reissuePasswords(jobId));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(error(ex.getMessage()));
         }
     }
 
     @GetMapping("/search")
-    public List<VoterSearchDTO> searchVoters(@RequestParam("q") String query) {
-        return voterAdminService.searchVoters(query);
+    public ResponseEntity<List<VoterSearchDTO>> searchVoters(@RequestParam("q") String query,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        List<VoterSearchDTO> results = voterAdminService.searchVoters(query, page, size);
+        int pageSize = Math.max(1, Math.min(size, VoterAdminService.MAX_SEARCH_PAGE_SIZE));
+        boolean hasMore = results.size() > pageSize;
+        return ResponseEntity.ok()
+                .header("X-Has-More", String.valueOf(hasMore))
+                .body(hasMore ? results.subList(0, pageSize) : results);
     }
 
     @DeleteMapping("/all")
@@ -47,4 +104,10 @@ public class VoterAdminController {
                 "scope", "VOTERS"
         ));
     }
+
+    private Map<String, String> error(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        return error;
+    }
 }
@@ -0,0 +1,10 @@
+package com.votingplatform.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BallotCastRequest {
+    private List<VoteRequest> choices;
+}
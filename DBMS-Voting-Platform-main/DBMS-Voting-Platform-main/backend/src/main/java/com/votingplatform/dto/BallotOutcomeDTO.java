@@ -0,0 +1,15 @@
+package com.votingplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BallotOutcomeDTO {
+    private int index;
+    private Long pollId;
+    private Long candidateId;
+    private Long voterId;
+    private String status;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.votingplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BallotReceiptDTO {
+    private List<Long> pollIds;
+    private String merkleRoot;
+    // MerkleTree layout the root was built with
+    private int merkleVersion;
+    private LocalDateTime castAt;
+}
@@ -0,0 +1,10 @@
+package com.votingplatform.dto;
+
+import lombok.Data;
+
+@Data
+public class BallotRequest {
+    private Long pollId;
+    private Long candidateId;
+    private Long voterId;
+}
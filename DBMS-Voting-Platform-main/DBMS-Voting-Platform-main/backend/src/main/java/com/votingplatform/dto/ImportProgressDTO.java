@@ -0,0 +1,24 @@
+package com.votingplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ImportProgressDTO {
+    private String jobId;
+    private String fileName;
+    private String status;
+    private Integer totalRows;
+    private int processedRows;
+    private double rowsPerSecond;
+    private Long etaSeconds;
+    private int resultsAvailable;
+    private int attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
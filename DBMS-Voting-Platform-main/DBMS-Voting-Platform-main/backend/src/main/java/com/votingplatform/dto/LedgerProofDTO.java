@@ -0,0 +1,26 @@
+package com.votingplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LedgerProofDTO {
+    private Long entryId;
+    private String entryHash;
+    private Long checkpointId;
+    private String merkleRoot;
+    // MerkleTree layout to check the path with
+    private int merkleVersion;
+    private List<ProofStep> path;
+    private boolean valid;
+
+    @Data
+    @AllArgsConstructor
+    public static class ProofStep {
+        private String siblingHash;
+        private boolean siblingOnLeft;
+    }
+}
@@ -0,0 +1,19 @@
+package com.votingplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LedgerVerificationDTO {
+    private Long fromId;
+    private Long toId;
+    private int checkpointsVerified;
+    private long entriesVerified;
+    // Legacy entries whose hash could not be recomputed (created_at stored coarser than it was hashed); links checked only.
+    private long legacyEntriesLinkOnly;
+    private boolean valid;
+    private List<String> failures;
+}
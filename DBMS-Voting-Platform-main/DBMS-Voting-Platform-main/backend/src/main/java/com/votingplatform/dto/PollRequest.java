@@ -1,5 +1,6 @@
 package com.votingplatform.dto;
 
+import com.votingplatform.entity.Poll;
 import lombok.Data;
 import java.time.LocalDateTime;
 
@@ -9,4 +10,5 @@ public class PollRequest {
     private String description;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
+    private Poll.VotingMethod votingMethod;
 }
@@ -0,0 +1,12 @@
+package com.votingplatform.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PreferenceVoteRequest {
+    private Long pollId;
+    // Ranked polls: most preferred first. Approval polls: every approved candidate.
+    private List<Long> candidateIds;
+}
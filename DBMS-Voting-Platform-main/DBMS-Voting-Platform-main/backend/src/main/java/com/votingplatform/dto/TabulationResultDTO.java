@@ -0,0 +1,16 @@
+package com.votingplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TabulationResultDTO {
+    private Long pollId;
+    private String votingMethod;
+    private long ballots;
+    private Long winnerCandidateId;
+    private List<TabulationRoundDTO> rounds;
+}
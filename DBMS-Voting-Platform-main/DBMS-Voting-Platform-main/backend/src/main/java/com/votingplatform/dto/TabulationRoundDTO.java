@@ -0,0 +1,15 @@
+package com.votingplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TabulationRoundDTO {
+    private int round;
+    private List<VoteResultDTO> tallies;
+    private Long eliminatedCandidateId;
+    private long exhaustedBallots;
+}
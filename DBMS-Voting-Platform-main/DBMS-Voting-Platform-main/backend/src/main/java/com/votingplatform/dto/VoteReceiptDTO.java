@@ -0,0 +1,16 @@
+package com.votingplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class VoteReceiptDTO {
+    private String receiptId;
+    private Long pollId;
+    private Long candidateId;
+    private String status;
+    private LocalDateTime acceptedAt;
+}
@@ -0,0 +1,39 @@
+package com.votingplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ledger_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "first_entry_id", nullable = false)
+    private Long firstEntryId;
+
+    @Column(name = "last_entry_id", nullable = false, unique = true)
+    private Long lastEntryId;
+
+    @Column(name = "entry_count", nullable = false)
+    private Integer entryCount;
+
+    @Column(name = "merkle_root", nullable = false, length = 64)
+    private String merkleRoot;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Tree layout of merkle_root (see MerkleTree); null for checkpoints sealed before layouts were versioned.
+    @Column(name = "merkle_version")
+    private Integer merkleVersion;
+}
@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ledger_entries")
+@Table(name = "ledger_entries", indexes = {
+    @Index(name = "idx_ledger_entity", columnList = "entity_type, entity_id"),
+    @Index(name = "idx_ledger_entity_type_id", columnList = "entity_type, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,9 +19,16 @@ public class LedgerEntry {
 
     public enum EntityType {
         POLL,
-        VOTE
+        VOTE,
+        USER,
+        BALLOT
     }
 
+    /** Hash over the fields without metadata; entries written before hash versions have none stored. */
+    public static final int HASH_VERSION_LEGACY = 1;
+    /** Hash over every stored field, metadata included. */
+    public static final int HASH_VERSION_CURRENT = 2;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -47,4 +57,8 @@ public class LedgerEntry {
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Null for entries written before hash versions, which use the legacy seed.
+    @Column(name = "hash_version")
+    private Integer hashVersion;
 }
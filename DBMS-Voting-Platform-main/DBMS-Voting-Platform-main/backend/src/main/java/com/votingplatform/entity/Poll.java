@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -37,6 +38,11 @@ public class Poll {
     @Column(nullable = false)
     private Status status = Status.PENDING;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "voting_method", nullable = false, length = 16)
+    @ColumnDefault("'PLURALITY'")
+    private VotingMethod votingMethod = VotingMethod.PLURALITY;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     @JsonIgnore
@@ -58,4 +64,10 @@ public class Poll {
         ACTIVE,
         COMPLETED
     }
+
+    public enum VotingMethod {
+        PLURALITY,
+        RANKED,
+        APPROVAL
+    }
 }
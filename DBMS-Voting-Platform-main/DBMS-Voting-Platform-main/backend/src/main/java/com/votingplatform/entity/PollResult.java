@@ -0,0 +1,36 @@
+package com.votingplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "poll_results")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollResult {
+
+    @Id
+    @Column(name = "poll_id")
+    private Long pollId;
+
+    @Column(name = "total_votes", nullable = false)
+    private Long totalVotes;
+
+    // Per-candidate counts as the JSON array served by the results endpoint
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String results;
+
+    @Column(name = "results_hash", nullable = false, length = 64)
+    private String resultsHash;
+
+    @Column(name = "ledger_hash", length = 64)
+    private String ledgerHash;
+
+    @Column(name = "closed_at", nullable = false)
+    private LocalDateTime closedAt = LocalDateTime.now();
+}
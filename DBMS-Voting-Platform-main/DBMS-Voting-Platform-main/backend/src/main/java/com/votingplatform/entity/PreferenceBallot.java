@@ -0,0 +1,41 @@
+package com.votingplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ranked or approval ballot. The choices are candidate ids packed as
+ * 32-bit big-endian ints, in preference order for ranked polls.
+ */
+@Entity
+@Table(name = "preference_ballots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_preference_ballots_poll_user", columnNames = {"poll_id", "user_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreferenceBallot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "poll_id", nullable = false)
+    private Long pollId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 1024)
+    private byte[] choices;
+
+    @Column(name = "voted_at", nullable = false)
+    private LocalDateTime votedAt;
+
+    @Column(name = "ip_address", length = 45)
+    private String ipAddress;
+}
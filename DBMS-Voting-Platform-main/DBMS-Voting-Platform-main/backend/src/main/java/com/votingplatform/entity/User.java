@@ -32,6 +32,10 @@ public class User {
     @Column(nullable = false)
     private Role role = Role.VOTER;
 
+    // Set for voters created by a bulk import, so the job's passwords can be re-issued.
+    @Column(name = "import_job_id", length = 36)
+    private String importJobId;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
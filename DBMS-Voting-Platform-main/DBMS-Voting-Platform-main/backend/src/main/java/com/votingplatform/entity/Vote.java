@@ -1,5 +1,8 @@
 package com.votingplatform.entity;
 
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIdentityReference;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,7 +13,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "votes", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"poll_id", "user_id"})
+    @UniqueConstraint(name = "uk_votes_poll_user", columnNames = {"poll_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_votes_receipt", columnList = "receipt_id")
 })
 @Data
 @NoArgsConstructor
@@ -31,6 +36,8 @@ public class Vote {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
+    @JsonIdentityReference(alwaysAsId = true)
     private User user;
 
     @CreationTimestamp
@@ -38,4 +45,8 @@ public class Vote {
     private LocalDateTime votedAt;
 
     private String ipAddress;
+
+    // Receipt handed out for a write-behind vote; null for votes written directly.
+    @Column(name = "receipt_id", length = 36)
+    private String receiptId;
 }
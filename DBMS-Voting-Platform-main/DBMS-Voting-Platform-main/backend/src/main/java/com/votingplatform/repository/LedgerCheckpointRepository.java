@@ -0,0 +1,17 @@
+package com.votingplatform.repository;
+
+import com.votingplatform.entity.LedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Long> {
+    Optional<LedgerCheckpoint> findTopByOrderByLastEntryIdDesc();
+
+    Optional<LedgerCheckpoint> findFirstByFirstEntryIdLessThanEqualAndLastEntryIdGreaterThanEqual(Long entryId, Long sameEntryId);
+
+    List<LedgerCheckpoint> findByLastEntryIdGreaterThanEqualAndFirstEntryIdLessThanEqualOrderByFirstEntryIdAsc(Long fromId, Long toId);
+}
@@ -1,12 +1,30 @@
 package com.votingplatform.repository;
 
 import com.votingplatform.entity.LedgerEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
     Optional<LedgerEntry> findTopByOrderByIdDesc();
+
+    List<LedgerEntry> findByIdLessThanOrderByIdDesc(Long beforeId, Pageable pageable);
+
+    List<LedgerEntry> findByEntityTypeAndIdLessThanOrderByIdDesc(LedgerEntry.EntityType entityType,
+                                                                 Long beforeId,
+                                                                 Pageable pageable);
+
+    List<LedgerEntry> findByEntityTypeAndEntityIdAndIdLessThanOrderByIdDesc(LedgerEntry.EntityType entityType,
+                                                                            Long entityId,
+                                                                            Long beforeId,
+                                                                            Pageable pageable);
+
+    Optional<LedgerEntry> findFirstByEntityTypeAndEntityIdAndActionAndDataHash(LedgerEntry.EntityType entityType,
+                                                                              Long entityId,
+                                                                              String action,
+                                                                              String dataHash);
 }
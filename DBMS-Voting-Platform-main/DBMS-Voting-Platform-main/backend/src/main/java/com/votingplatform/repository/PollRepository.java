@@ -4,19 +4,37 @@ import com.votingplatform.entity.Poll;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PollRepository extends JpaRepository<Poll, Long> {
     
-    @Query("SELECT p FROM Poll p WHERE p.status = 'ACTIVE'")
-    List<Poll> findActivePolls(LocalDateTime now);
-    
     List<Poll> findByStatus(Poll.Status status);
 
+    List<Poll> findByStatusIn(Collection<Poll.Status> statuses);
+
+    /** Moves a poll to {@code to} only if it is still in {@code from}; returns the rows changed. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Poll p SET p.status = :to WHERE p.id = :id AND p.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") Poll.Status from, @Param("to") Poll.Status to);
+
+    /** Polls in {@code status} that have no stored results snapshot. */
+    @Query("SELECT p FROM Poll p WHERE p.status = :status " +
+           "AND NOT EXISTS (SELECT r FROM PollResult r WHERE r.pollId = p.id)")
+    List<Poll> findByStatusWithoutResults(@Param("status") Poll.Status status);
+
+    @Query("SELECT p.id FROM Poll p")
+    List<Long> findAllIds();
+
+    @Query("SELECT p.id FROM Poll p WHERE p.status = :status")
+    List<Long> findIdsByStatus(@Param("status") Poll.Status status);
+
     @Modifying
     long deleteByStatus(Poll.Status status);
 }
@@ -0,0 +1,9 @@
+package com.votingplatform.repository;
+
+import com.votingplatform.entity.PollResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PollResultRepository extends JpaRepository<PollResult, Long> {
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,11 +15,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
 
-    @Query("SELECT u FROM User u WHERE u.role = :role AND (LOWER(u.name) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%')))")
-    List<User> searchByRoleAndQuery(@Param("role") User.Role role, @Param("query") String query);
+    @Query("SELECT LOWER(u.email) FROM User u")
+    List<String> findAllEmailsLowercase();
 
-    long deleteByRole(User.Role role);
-
-    @Query("SELECT u.id FROM User u WHERE u.role = :role")
-    List<Long> findIdsByRole(@Param("role") User.Role role);
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -2,7 +2,6 @@ package com.votingplatform.repository;
 
 import com.votingplatform.entity.Vote;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,12 +19,10 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
            "FROM Vote v WHERE v.poll.id = :pollId " +
            "GROUP BY v.candidate.id, v.candidate.name")
     List<Object[]> getPollResults(@Param("pollId") Long pollId);
+
+    @Query("SELECT v.poll.id, v.candidate.id, v.candidate.name, COUNT(v) " +
+           "FROM Vote v GROUP BY v.poll.id, v.candidate.id, v.candidate.name")
+    List<Object[]> getAllPollResults();
     
     long countByPollId(Long pollId);
-
-    @Modifying
-    long deleteByPollId(Long pollId);
-
-    @Modifying
-    long deleteByUserIdIn(List<Long> userIds);
 }
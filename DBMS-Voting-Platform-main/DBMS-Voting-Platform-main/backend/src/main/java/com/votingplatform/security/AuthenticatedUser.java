@@ -0,0 +1,33 @@
+package com.votingplatform.security;
+
+import com.votingplatform.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Spring Security principal that also carries the user's id and role, so
+ * request handlers can identify the caller without another user lookup.
+ */
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final User.Role role;
+
+    public AuthenticatedUser(Long id, String email, String password, User.Role role,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User.Role getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,25 @@
+package com.votingplatform.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Access to the authenticated caller resolved by {@link JwtAuthenticationFilter}.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    public static AuthenticatedUser get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        throw new RuntimeException("User not found");
+    }
+
+    public static Long id() {
+        return get().getId();
+    }
+}
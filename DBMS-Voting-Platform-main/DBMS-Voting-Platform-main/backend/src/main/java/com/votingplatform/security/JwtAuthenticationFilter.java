@@ -1,5 +1,8 @@
 package com.votingplatform.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +19,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -26,37 +30,78 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Time spent resolving the caller, excluding the rest of the chain.
+    private Timer authenticated;
+    private Timer anonymous;
+    private Timer failed;
+
+    @PostConstruct
+    public void registerMetrics() {
+        authenticated = meterRegistry.timer("security.jwt.filter", "outcome", "authenticated");
+        anonymous = meterRegistry.timer("security.jwt.filter", "outcome", "anonymous");
+        failed = meterRegistry.timer("security.jwt.filter", "outcome", "error");
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        Timer outcome = anonymous;
         try {
             String jwt = getJwtFromRequest(request);
-            
-            logger.debug("Processing request: " + request.getMethod() + " " + request.getRequestURI());
-            logger.debug("JWT present: " + (jwt != null));
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
-                logger.debug("Valid JWT for user: " + email);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                logger.debug("User authorities: " + userDetails.getAuthorities());
+            // Guarded so the messages are not built on every request when DEBUG is off.
+            if (logger.isDebugEnabled()) {
+                logger.debug("Processing request: " + request.getMethod() + " " + request.getRequestURI());
+                logger.debug("JWT present: " + (jwt != null));
+            }
+
+            String email = StringUtils.hasText(jwt) ? tokenProvider.verifyAndGetSubject(jwt) : null;
+            if (email != null) {
+                UserDetails userDetails = resolvePrincipal(email);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Valid JWT for user: " + email);
+                    logger.debug("User authorities: " + userDetails.getAuthorities());
+                }
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                outcome = authenticated;
             } else {
                 logger.debug("No valid JWT token found");
             }
         } catch (Exception ex) {
+            outcome = failed;
             logger.error("Could not set user authentication in security context", ex);
         }
+        outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolvePrincipal(String email) {
+        AuthenticatedUser cached = principalCache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails loaded = userDetailsService.loadUserByUsername(email);
+        if (loaded instanceof AuthenticatedUser user) {
+            user.eraseCredentials();
+            principalCache.put(email, user);
+        }
+        return loaded;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -2,6 +2,11 @@ package com.votingplatform.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,6 +15,10 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
 public class JwtTokenProvider {
@@ -20,8 +29,35 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
+    // Tokens that already passed signature checks, mapped to their subject and expiry. Lookups take
+    // no lock; once the map outgrows its bound one inserter prunes it, expired tokens first.
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        cacheHits = meterRegistry.counter("cache.gets", "cache", "verified-tokens", "result", "hit");
+        cacheMisses = meterRegistry.counter("cache.gets", "cache", "verified-tokens", "result", "miss");
+        Gauge.builder("cache.size", verifiedTokens, Map::size).tag("cache", "verified-tokens").register(meterRegistry);
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
     public String generateToken(Authentication authentication) {
@@ -50,24 +86,77 @@ public class JwtTokenProvider {
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+        return parser.parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
     }
 
     public boolean validateToken(String token) {
+        return verifyAndGetSubject(token) != null;
+    }
+
+    /**
+     * Verifies the token in a single parse and returns its subject, or null if
+     * the token is invalid or expired. Recently verified tokens are answered
+     * from a bounded cache until they expire.
+     */
+    public String verifyAndGetSubject(String token) {
+        if (token == null) {
+            return null;
+        }
+        boolean caching = verifiedCacheSize > 0;
+        if (caching) {
+            VerifiedToken cached = verifiedTokens.get(token);
+            if (cached != null) {
+                if (cached.expiresAt > System.currentTimeMillis()) {
+                    cacheHits.increment();
+                    return cached.subject;
+                }
+                verifiedTokens.remove(token);
+                return null;
+            }
+            cacheMisses.increment();
+        }
+
+        Claims claims;
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            return true;
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
+        }
+
+        if (caching && claims.getExpiration() != null) {
+            verifiedTokens.put(token, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+            if (verifiedTokens.size() > verifiedCacheSize) {
+                prune();
+            }
         }
+        return claims.getSubject();
+    }
+
+    /**
+     * Drops expired tokens and, if that is not enough, arbitrary ones until the
+     * cache is back to nine tenths of its bound, so the next prune is some
+     * inserts away. Inserters that find a prune running carry on without waiting.
+     */
+    private void prune() {
+        if (!pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            verifiedTokens.values().removeIf(verified -> verified.expiresAt <= now);
+            int target = verifiedCacheSize - verifiedCacheSize / 10;
+            Iterator<VerifiedToken> it = verifiedTokens.values().iterator();
+            while (verifiedTokens.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    private record VerifiedToken(String subject, long expiresAt) {
     }
 }
@@ -0,0 +1,211 @@
+package com.votingplatform.security;
+
+import com.votingplatform.entity.User;
+import com.votingplatform.service.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs every BCrypt hash and verification on a small pool sized to the CPUs,
+ * so a login storm queues here instead of taking every core from the vote
+ * path. Waiting work is ordered by priority: logins first, then
+ * registrations, then imports. Logins and registrations are refused with
+ * {@link ServiceBusyException} once too many are waiting; imports instead
+ * block their worker until an import slot frees up, so they only ever fill
+ * idle hashing time.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    public enum Priority {
+        LOGIN,
+        REGISTER,
+        IMPORT
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.bcrypt.threads:0}")
+    private int threads;
+
+    @Value("${security.bcrypt.queue-capacity:128}")
+    private int queueCapacity;
+
+    @Value("${security.bcrypt.cost.admin:12}")
+    private int adminCost;
+
+    @Value("${security.bcrypt.cost.voter:10}")
+    private int voterCost;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger interactiveWaiting = new AtomicInteger();
+    // Running average of one hash, used for the Retry-After estimate.
+    private volatile long averageNanos = TimeUnit.MILLISECONDS.toNanos(100);
+    private ThreadPoolExecutor pool;
+    private Semaphore importSlots;
+    private BCryptPasswordEncoder adminEncoder;
+    private BCryptPasswordEncoder voterEncoder;
+    private String dummyHash;
+    private Counter rejected;
+
+    @PostConstruct
+    public void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), daemonThreads());
+        // One queued import hash per thread keeps the next one ready without making a login wait behind many.
+        importSlots = new Semaphore(poolSize * 2, true);
+        adminEncoder = new BCryptPasswordEncoder(adminCost);
+        voterEncoder = new BCryptPasswordEncoder(voterCost);
+        // Unknown e-mails are checked against this so they take as long as a wrong password.
+        dummyHash = voterEncoder.encode("unknown-user");
+
+        Gauge.builder("security.bcrypt.queue.depth", pool, p -> p.getQueue().size()).register(meterRegistry);
+        rejected = meterRegistry.counter("security.bcrypt.rejected");
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    /** Hashes a password at the cost configured for the role and waits for the result. */
+    public String encode(CharSequence rawPassword, User.Role role, Priority priority) {
+        return await(encodeAsync(rawPassword, role, priority));
+    }
+
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword, User.Role role, Priority priority) {
+        BCryptPasswordEncoder encoder = role == User.Role.ADMIN ? adminEncoder : voterEncoder;
+        return submit(priority, () -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Verifies a password against a stored hash; a null hash (unknown user)
+     * is checked against a dummy one and never matches.
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword, Priority priority) {
+        String hash = encodedPassword != null ? encodedPassword : dummyHash;
+        boolean matches = await(submit(priority, () -> voterEncoder.matches(rawPassword, hash)));
+        return matches && encodedPassword != null;
+    }
+
+    /**
+     * Adapter for Spring Security and other callers without a role: hashes
+     * at the voter cost with registration priority and verifies with login
+     * priority.
+     */
+    public PasswordEncoder asPasswordEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return PasswordHashingExecutor.this.encode(rawPassword, User.Role.VOTER, Priority.REGISTER);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return PasswordHashingExecutor.this.matches(rawPassword, encodedPassword, Priority.LOGIN);
+            }
+        };
+    }
+
+    private <T> CompletableFuture<T> submit(Priority priority, Supplier<T> work) {
+        boolean interactive = priority != Priority.IMPORT;
+        if (interactive) {
+            if (interactiveWaiting.incrementAndGet() > queueCapacity) {
+                interactiveWaiting.decrementAndGet();
+                rejected.increment();
+                throw new ServiceBusyException("Too many sign-ins in progress, please retry shortly", retryAfterSeconds());
+            }
+        } else {
+            importSlots.acquireUninterruptibly();
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        pool.execute(new HashTask(priority, sequence.getAndIncrement(), () -> {
+            if (interactive) {
+                interactiveWaiting.decrementAndGet();
+            }
+            long start = System.nanoTime();
+            try {
+                result.complete(work.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                averageNanos += (elapsed - averageNanos) / 8;
+                if (!interactive) {
+                    importSlots.release();
+                }
+            }
+        }));
+        return result;
+    }
+
+    private long retryAfterSeconds() {
+        double seconds = (double) interactiveWaiting.get() * averageNanos / pool.getCorePoolSize() / 1e9;
+        return Math.max(1, (long) Math.ceil(seconds));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting to check a password", 1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bcrypt-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** Queue entry ordered by priority, then by submission order. */
+    private static final class HashTask extends FutureTask<Void> implements Comparable<HashTask> {
+
+        private final Priority priority;
+        private final long sequence;
+
+        HashTask(Priority priority, long sequence, Runnable work) {
+            super(work, null);
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(HashTask other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.votingplatform.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded, TTL-evicting cache of resolved principals keyed by JWT subject,
+ * so authenticated requests do not reload the user from the database.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${security.principal-cache.max-size:100000}")
+    private int maxSize;
+
+    @Value("${security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void registerMetrics() {
+        hits = meterRegistry.counter("cache.gets", "cache", "principals", "result", "hit");
+        misses = meterRegistry.counter("cache.gets", "cache", "principals", "result", "miss");
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", "principals").register(meterRegistry);
+    }
+
+    public AuthenticatedUser get(String subject) {
+        Entry entry = entries.get(subject);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt - System.nanoTime() < 0) {
+            entries.remove(subject, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.user;
+    }
+
+    public void put(String subject, AuthenticatedUser user) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(subject, new Entry(user, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+    }
+
+    public void invalidate(String subject) {
+        entries.remove(subject);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.expiresAt - now < 0);
+        // Still full: drop an arbitrary tenth rather than track recency on every hit.
+        Iterator<String> keys = entries.keySet().iterator();
+        int toDrop = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        while (toDrop-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(AuthenticatedUser user, long expiresAt) {
+    }
+}
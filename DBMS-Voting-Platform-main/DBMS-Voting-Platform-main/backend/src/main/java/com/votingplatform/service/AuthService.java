@@ -4,26 +4,26 @@ import com.votingplatform.dto.*;
 import com.votingplatform.entity.User;
 import com.votingplatform.repository.UserRepository;
 import com.votingplatform.security.JwtTokenProvider;
+import com.votingplatform.security.PasswordHashingExecutor;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed("voting.service")
 public class AuthService {
 
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHashing;
 
     @Autowired
     private JwtTokenProvider tokenProvider;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private VoterSearchIndex voterSearchIndex;
 
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -33,10 +33,14 @@ public class AuthService {
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setRole(request.getRole() != null ? request.getRole() : User.Role.VOTER);
+        user.setPassword(passwordHashing.encode(request.getPassword(), user.getRole(),
+                PasswordHashingExecutor.Priority.REGISTER));
 
         user = userRepository.save(user);
+        if (user.getRole() == User.Role.VOTER) {
+            voterSearchIndex.add(new VoterSearchDTO(user.getId(), user.getName(), user.getEmail(), user.getCreatedAt()));
+        }
 
         String token = tokenProvider.generateToken(user.getEmail());
         UserDTO userDTO = new UserDTO(user.getId(), user.getName(), user.getEmail(), user.getRole());
@@ -44,20 +48,19 @@ public class AuthService {
         return new AuthResponse(token, userDTO);
     }
 
+    /**
+     * Verifies the password on the hashing executor at login priority.
+     *
+     * @throws ServiceBusyException when too many sign-ins are already waiting
+     */
     public AuthResponse login(LoginRequest request) {
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
-        } catch (Exception e) {
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
+        String hash = user != null ? user.getPassword() : null;
+        if (!passwordHashing.matches(request.getPassword(), hash, PasswordHashingExecutor.Priority.LOGIN)) {
             throw new RuntimeException("Invalid email or password");
         }
 
-        String token = tokenProvider.generateToken(request.getEmail());
-        
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
+        String token = tokenProvider.generateToken(user.getEmail());
         UserDTO userDTO = new UserDTO(user.getId(), user.getName(), user.getEmail(), user.getRole());
 
         return new AuthResponse(token, userDTO);
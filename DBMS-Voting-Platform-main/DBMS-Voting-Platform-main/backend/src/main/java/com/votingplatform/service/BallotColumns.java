@@ -0,0 +1,92 @@
+package com.votingplatform.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranked or approval ballots of one poll in columnar form: one flat int
+ * array of choices and an offsets array marking where each ballot starts.
+ * Candidate ids are mapped to dense indexes on the way in, so tabulation
+ * works on plain arrays. Appends only ever write past the published count
+ * and grow by copying, so a snapshot can be read without locking.
+ */
+final class BallotColumns {
+
+    private int count;
+    private int[] offsets = new int[1025];
+    private int[] choices = new int[4096];
+    private long[] candidateIds = new long[16];
+    private int candidates;
+    private final Map<Long, Integer> indexOf = new HashMap<>();
+
+    /** Appends one ballot; {@code ranking} holds candidate ids in preference order. */
+    synchronized void append(long[] ranking) {
+        if (count + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        int start = offsets[count];
+        if (start + ranking.length > choices.length) {
+            choices = Arrays.copyOf(choices, Math.max(choices.length * 2, start + ranking.length));
+        }
+        for (int i = 0; i < ranking.length; i++) {
+            choices[start + i] = index(ranking[i]);
+        }
+        offsets[count + 1] = start + ranking.length;
+        count++;
+    }
+
+    /**
+     * The ballots so far. Every registered candidate gets an index, so those
+     * nobody ranked still take part in the count.
+     */
+    synchronized Snapshot snapshot(List<Long> registeredCandidateIds) {
+        registeredCandidateIds.forEach(this::index);
+        return new Snapshot(count, offsets, choices, Arrays.copyOf(candidateIds, candidates));
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    private int index(long candidateId) {
+        Integer existing = indexOf.get(candidateId);
+        if (existing != null) {
+            return existing;
+        }
+        if (candidates == candidateIds.length) {
+            candidateIds = Arrays.copyOf(candidateIds, candidates * 2);
+        }
+        candidateIds[candidates] = candidateId;
+        indexOf.put(candidateId, candidates);
+        return candidates++;
+    }
+
+    /** Packs candidate ids as big-endian 32-bit ints for the {@code choices} column. */
+    static byte[] pack(long[] ranking) {
+        ByteBuffer buffer = ByteBuffer.allocate(ranking.length * Integer.BYTES);
+        for (long candidateId : ranking) {
+            buffer.putInt(Math.toIntExact(candidateId));
+        }
+        return buffer.array();
+    }
+
+    static long[] unpack(byte[] packed) {
+        ByteBuffer buffer = ByteBuffer.wrap(packed);
+        long[] ranking = new long[packed.length / Integer.BYTES];
+        for (int i = 0; i < ranking.length; i++) {
+            ranking[i] = buffer.getInt();
+        }
+        return ranking;
+    }
+
+    /**
+     * Ballot {@code i} is {@code choices[offsets[i]]} up to (excluding)
+     * {@code choices[offsets[i + 1]]}; choices are indexes into
+     * {@code candidateIds}.
+     */
+    record Snapshot(int count, int[] offsets, int[] choices, long[] candidateIds) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.votingplatform.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs large deletes as a series of bounded {@code DELETE ... LIMIT n}
+ * statements, each in its own short transaction, so row locks are held for
+ * one chunk at a time instead of for the whole wipe.
+ */
+@Service
+public class ChunkedDeleter {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${voting.delete.chunk-size:5000}")
+    private int chunkSize;
+
+    /**
+     * Deletes every row of {@code table} matching {@code where}.
+     *
+     * @return the number of rows deleted
+     */
+    public long deleteWhere(String table, String where, Object... args) {
+        String sql = "DELETE FROM " + table + " WHERE " + where + " LIMIT " + chunkSize;
+        long total = 0;
+        int deleted;
+        do {
+            Integer count = transactionTemplate.execute(status -> jdbcTemplate.update(sql, args));
+            deleted = count != null ? count : 0;
+            total += deleted;
+        } while (deleted >= chunkSize);
+        return total;
+    }
+
+    /** {@code ?, ?, ?} for an IN list of the given size. */
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    static <T> List<List<T>> partition(List<T> values, int size) {
+        List<List<T>> parts = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += size) {
+            parts.add(values.subList(from, Math.min(from + size, values.size())));
+        }
+        return parts;
+    }
+}
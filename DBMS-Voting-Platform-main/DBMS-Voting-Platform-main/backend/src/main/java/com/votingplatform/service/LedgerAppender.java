@@ -0,0 +1,420 @@
+package com.votingplatform.service;
+
+import com.votingplatform.entity.LedgerEntry;
+import com.votingplatform.repository.LedgerEntryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single writer for the hash-chained ledger. Producers hand entries to a
+ * bounded ring buffer; one thread owns the chain head, computes the hashes in
+ * arrival order and inserts each drained batch in one transaction. Because
+ * only this thread links entries, the chain stays linear no matter how many
+ * requests append at once, and no SELECT is needed to find the previous hash.
+ * <p>
+ * Ids, timestamps and the chain head come from this writer, so the ledger
+ * supports a single application node. A second node appending to the same
+ * table collides on the primary key, and the writer then halts instead of
+ * forking the chain.
+ * <p>
+ * A batch that fails to commit is retried with backoff, keeping its ids and
+ * links, until it commits. While it keeps failing the appender refuses new
+ * entries and {@link #checkWritable()} fails, so votes are turned away
+ * rather than stored without an audit record.
+ */
+@Service
+public class LedgerAppender {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerAppender.class);
+
+    private static final String INSERT_ENTRY_SQL =
+            "INSERT INTO ledger_entries (id, entity_type, entity_id, action, data_hash, previous_hash, hash, metadata, created_at, hash_version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LedgerCheckpointService checkpointService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ledger.appender.capacity:65536}")
+    private int capacity;
+
+    @Value("${ledger.appender.batch-size:256}")
+    private int batchSize;
+
+    @Value("${ledger.appender.retry-initial-ms:100}")
+    private long retryInitialMs;
+
+    @Value("${ledger.appender.retry-max-ms:5000}")
+    private long retryMaxMs;
+
+    @Value("${ledger.appender.halt-after-attempts:3}")
+    private int haltAfterAttempts;
+
+    private BlockingQueue<PendingEntry> ring;
+    // Held while enqueueing so a segment from appendAll() is not interleaved with other producers.
+    private final ReentrantLock producerLock = new ReentrantLock();
+    private Thread writer;
+    private volatile boolean running;
+    // Set while a batch keeps failing to commit; appends and votes are refused until it goes through.
+    private volatile boolean halted;
+    private Timer commitTimer;
+    private Timer lagTimer;
+
+    // Chain head, only touched by the writer thread after startup.
+    private long headId;
+    private String headHash;
+    private LocalDateTime headCreatedAt = LocalDateTime.MIN;
+
+    @PostConstruct
+    public void start() {
+        ledgerEntryRepository.findTopByOrderByIdDesc().ifPresent(last -> {
+            headId = last.getId();
+            headHash = last.getHash();
+            headCreatedAt = last.getCreatedAt();
+        });
+        ring = new ArrayBlockingQueue<>(capacity);
+        Gauge.builder("ledger.appender.backlog", this, LedgerAppender::getBacklog).register(meterRegistry);
+        Gauge.builder("ledger.appender.halted", this, appender -> appender.halted ? 1 : 0).register(meterRegistry);
+        commitTimer = Timer.builder("ledger.appender.commit").register(meterRegistry);
+        // How far the chain trails its producers: from append() to the entry's batch committing.
+        lagTimer = Timer.builder("ledger.appender.lag").register(meterRegistry);
+        running = true;
+        writer = new Thread(this::drainLoop, "ledger-appender");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Queues an entry for the chain. Blocks while the ring buffer is full.
+     *
+     * @return a future completed with the stored entry once its batch commits
+     * @throws ServiceBusyException while the writer cannot commit
+     */
+    public CompletableFuture<LedgerEntry> append(LedgerEntry.EntityType entityType,
+                                                 String action,
+                                                 Long entityId,
+                                                 String criticalData,
+                                                 String metadata) {
+        PendingEntry pending = new PendingEntry(entityType, action, entityId, criticalData, metadata);
+        producerLock.lock();
+        try {
+            checkWritable();
+            enqueue(pending);
+        } finally {
+            producerLock.unlock();
+        }
+        return pending.stored;
+    }
+
+    /**
+     * Queues an entry whose data hash the caller computed already, such as a
+     * Merkle root over several items.
+     */
+    public CompletableFuture<LedgerEntry> appendHashed(LedgerEntry.EntityType entityType,
+                                                       String action,
+                                                       Long entityId,
+                                                       String dataHash,
+                                                       String metadata) {
+        PendingEntry pending = new PendingEntry(entityType, action, entityId, null, metadata);
+        pending.dataHash = dataHash;
+        producerLock.lock();
+        try {
+            checkWritable();
+            enqueue(pending);
+        } finally {
+            producerLock.unlock();
+        }
+        return pending.stored;
+    }
+
+    /**
+     * Queues several entries as one contiguous segment of the chain: no other
+     * producer's entry is linked between them. Large segments may still be
+     * committed across more than one batch.
+     *
+     * @return one future per draft, in order
+     */
+    public List<CompletableFuture<LedgerEntry>> appendAll(List<Draft> drafts) {
+        List<CompletableFuture<LedgerEntry>> stored = new ArrayList<>(drafts.size());
+        producerLock.lock();
+        try {
+            checkWritable();
+            for (Draft draft : drafts) {
+                PendingEntry pending = new PendingEntry(draft.entityType(), draft.action(), draft.entityId(),
+                        draft.criticalData(), draft.metadata());
+                enqueue(pending);
+                stored.add(pending.stored);
+            }
+        } finally {
+            producerLock.unlock();
+        }
+        return stored;
+    }
+
+    public int getBacklog() {
+        return ring.size();
+    }
+
+    /**
+     * Fails while the writer cannot commit, so callers can refuse work that
+     * would need a ledger entry before doing it.
+     */
+    public void checkWritable() {
+        if (halted) {
+            throw new ServiceBusyException("The audit ledger is unavailable, please retry shortly",
+                    TimeUnit.MILLISECONDS.toSeconds(retryMaxMs) + 1);
+        }
+    }
+
+    private void enqueue(PendingEntry pending) {
+        try {
+            ring.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.stored.completeExceptionally(e);
+        }
+    }
+
+    private void drainLoop() {
+        MessageDigest digest = sha256();
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        while (running || !ring.isEmpty()) {
+            try {
+                PendingEntry first = ring.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                ring.drainTo(batch, batchSize - 1);
+                write(batch, digest);
+            } catch (InterruptedException e) {
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingEntry> batch, MessageDigest digest) {
+        List<LedgerEntry> entries = new ArrayList<>(batch.size());
+        long nextId = headId;
+        String previousHash = headHash;
+        LocalDateTime createdAt = headCreatedAt;
+        for (PendingEntry pending : batch) {
+            // Stamped here, with the id, so created_at never runs backwards along the chain.
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            createdAt = now.isAfter(createdAt) ? now : createdAt;
+            LedgerEntry entry = link(pending, ++nextId, previousHash, createdAt, digest);
+            entries.add(entry);
+            previousHash = entry.getHash();
+        }
+
+        long commitStart = System.nanoTime();
+        if (!commit(entries)) {
+            // Shutting down while the database is still unreachable.
+            log.error("Ledger writer stopped with entries {}-{} unwritten", headId + 1, nextId);
+            IllegalStateException stopped = new IllegalStateException("Ledger writer stopped before the entry committed");
+            batch.forEach(pending -> pending.stored.completeExceptionally(stopped));
+            return;
+        }
+
+        long committedAt = System.nanoTime();
+        commitTimer.record(committedAt - commitStart, TimeUnit.NANOSECONDS);
+
+        headId = nextId;
+        headHash = previousHash;
+        headCreatedAt = entries.get(entries.size() - 1).getCreatedAt();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingEntry pending = batch.get(i);
+            lagTimer.record(committedAt - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+            pending.stored.complete(entries.get(i));
+        }
+
+        try {
+            checkpointService.onCommitted(entries);
+        } catch (RuntimeException e) {
+            log.error("Failed to seal ledger checkpoint", e);
+        }
+    }
+
+    /**
+     * Inserts the linked entries in one transaction, retrying with backoff
+     * until it commits. The entries are not relinked, so a retry keeps their
+     * ids, timestamps and hashes.
+     *
+     * @return false only if the appender stopped before the batch committed
+     */
+    private boolean commit(List<LedgerEntry> entries) {
+        long backoffMs = retryInitialMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(entries);
+                if (halted) {
+                    halted = false;
+                    log.info("Ledger writer recovered after {} attempts, accepting entries again", attempt);
+                }
+                return true;
+            } catch (DuplicateKeyException e) {
+                // Nothing to retry into: another writer owns these ids.
+                halted = true;
+                log.error("Ledger entry {} already exists; is a second node writing the ledger? Appends are halted",
+                        entries.get(0).getId(), e);
+            } catch (RuntimeException e) {
+                if (attempt >= haltAfterAttempts && !halted) {
+                    halted = true;
+                    log.error("Ledger batch failed {} times, halting appends until it commits", attempt, e);
+                } else {
+                    log.warn("Ledger batch of {} entries failed (attempt {}), retrying in {}ms",
+                            entries.size(), attempt, backoffMs, e);
+                }
+            }
+            if (!running) {
+                return false;
+            }
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                running = false;
+                return false;
+            }
+            backoffMs = Math.min(backoffMs * 2, retryMaxMs);
+        }
+    }
+
+    private void insert(List<LedgerEntry> entries) {
+        transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entries, entries.size(), (ps, entry) -> {
+                        ps.setLong(1, entry.getId());
+                        ps.setString(2, entry.getEntityType().name());
+                        ps.setLong(3, entry.getEntityId());
+                        ps.setString(4, entry.getAction());
+                        ps.setString(5, entry.getDataHash());
+                        ps.setString(6, entry.getPreviousHash());
+                        ps.setString(7, entry.getHash());
+                        ps.setString(8, entry.getMetadata());
+                        ps.setTimestamp(9, Timestamp.valueOf(entry.getCreatedAt()));
+                        ps.setInt(10, entry.getHashVersion());
+                    }));
+    }
+
+    private LedgerEntry link(PendingEntry pending, long id, String previousHash, LocalDateTime createdAt,
+                             MessageDigest digest) {
+        String dataHash = pending.dataHash != null ? pending.dataHash : hash(digest, pending.criticalData);
+
+        LedgerEntry entry = new LedgerEntry();
+        entry.setId(id);
+        entry.setEntityType(pending.entityType);
+        entry.setAction(pending.action);
+        entry.setEntityId(pending.entityId);
+        entry.setDataHash(dataHash);
+        entry.setPreviousHash(previousHash);
+        entry.setMetadata(pending.metadata);
+        entry.setCreatedAt(createdAt);
+        entry.setHashVersion(LedgerEntry.HASH_VERSION_CURRENT);
+        entry.setHash(entryHash(digest, entry));
+        return entry;
+    }
+
+    /**
+     * The chain hash of an entry with the seed of its hash version: the
+     * current one covers every stored field but the hash itself, the legacy
+     * one leaves out metadata. {@link LedgerCheckpointService} recomputes it
+     * to verify entries.
+     */
+    static String entryHash(MessageDigest digest, LedgerEntry entry) {
+        String seed = entry.getEntityType() + "|" + entry.getAction() + "|" + entry.getEntityId() + "|" +
+                entry.getDataHash() + "|" + (entry.getPreviousHash() == null ? "GENESIS" : entry.getPreviousHash()) + "|" +
+                entry.getCreatedAt();
+        if (isLegacy(entry)) {
+            return hash(digest, seed);
+        }
+        return hash(digest, seed + "|" + (entry.getMetadata() == null ? "" : entry.getMetadata()));
+    }
+
+    static boolean isLegacy(LedgerEntry entry) {
+        return entry.getHashVersion() == null || entry.getHashVersion() == LedgerEntry.HASH_VERSION_LEGACY;
+    }
+
+    // Package-private for the JMH suites in the benchmarks module.
+    static String hash(MessageDigest digest, String value) {
+        return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** An entry to append with {@link #appendAll}. */
+    public record Draft(LedgerEntry.EntityType entityType, String action, Long entityId,
+                        String criticalData, String metadata) {
+    }
+
+    private static final class PendingEntry {
+
+        private final LedgerEntry.EntityType entityType;
+        private final String action;
+        private final Long entityId;
+        private final String criticalData;
+        private final String metadata;
+        // Set instead of criticalData when the caller hashed the data itself.
+        private String dataHash;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<LedgerEntry> stored = new CompletableFuture<>();
+
+        PendingEntry(LedgerEntry.EntityType entityType, String action, Long entityId,
+                     String criticalData, String metadata) {
+            this.entityType = entityType;
+            this.action = action;
+            this.entityId = entityId;
+            this.criticalData = criticalData;
+            this.metadata = metadata;
+        }
+    }
+}
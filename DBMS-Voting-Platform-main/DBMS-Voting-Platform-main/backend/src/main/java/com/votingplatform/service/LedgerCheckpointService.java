@@ -0,0 +1,286 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.LedgerProofDTO;
+import com.votingplatform.dto.LedgerVerificationDTO;
+import com.votingplatform.entity.LedgerCheckpoint;
+import com.votingplatform.entity.LedgerEntry;
+import com.votingplatform.repository.LedgerCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seals the ledger into fixed-size blocks, each summarised by a Merkle root
+ * over its entry hashes, so a range can be audited block by block and a
+ * single entry can be proven with O(log n) hashes. Verification recomputes
+ * every entry's hash from its fields, checks the links between entries and,
+ * for sealed blocks, the Merkle root; the unsealed tail gets the first two.
+ */
+@Service
+public class LedgerCheckpointService {
+
+    @Autowired
+    private LedgerCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${ledger.checkpoint.block-size:1024}")
+    private int blockSize;
+
+    @Value("${ledger.verify.threads:4}")
+    private int verifyThreads;
+
+    private static final String SELECT_ENTRIES_SQL =
+            "SELECT id, entity_type, entity_id, action, data_hash, previous_hash, hash, metadata, created_at, hash_version " +
+            "FROM ledger_entries WHERE id BETWEEN ? AND ? ORDER BY id";
+
+    // Blocks are verified in parallel on their own small pool, since each one holds a connection.
+    private ExecutorService verifyPool;
+
+    // Entries committed since the last checkpoint, only touched by the ledger writer thread.
+    private final List<Long> pendingIds = new ArrayList<>();
+    private final List<String> pendingHashes = new ArrayList<>();
+
+    @PostConstruct
+    public void loadPending() {
+        long sealedUpTo = checkpointRepository.findTopByOrderByLastEntryIdDesc()
+                .map(LedgerCheckpoint::getLastEntryId)
+                .orElse(0L);
+        jdbcTemplate.query("SELECT id, hash FROM ledger_entries WHERE id > ? ORDER BY id", rs -> {
+            pendingIds.add(rs.getLong(1));
+            pendingHashes.add(rs.getString(2));
+        }, sealedUpTo);
+        sealFullBlocks();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        verifyPool = new ThreadPoolExecutor(verifyThreads, verifyThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "ledger-verify-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        verifyPool.shutdownNow();
+    }
+
+    /** Called by {@link LedgerAppender} on its writer thread after each committed batch. */
+    void onCommitted(List<LedgerEntry> entries) {
+        for (LedgerEntry entry : entries) {
+            pendingIds.add(entry.getId());
+            pendingHashes.add(entry.getHash());
+        }
+        sealFullBlocks();
+    }
+
+    public LedgerVerificationDTO verifyRange(Long fromId, Long toId) {
+        long from = fromId != null ? fromId : 1L;
+        long to = toId != null ? toId : Long.MAX_VALUE;
+        List<LedgerCheckpoint> checkpoints = checkpointRepository
+                .findByLastEntryIdGreaterThanEqualAndFirstEntryIdLessThanEqualOrderByFirstEntryIdAsc(from, to);
+        long sealedUpTo = checkpointRepository.findTopByOrderByLastEntryIdDesc()
+                .map(LedgerCheckpoint::getLastEntryId)
+                .orElse(0L);
+
+        List<Future<BlockResult>> tasks = new ArrayList<>(checkpoints.size() + 1);
+        for (LedgerCheckpoint checkpoint : checkpoints) {
+            tasks.add(verifyPool.submit(() -> verifyBlock(checkpoint)));
+        }
+        if (to > sealedUpTo) {
+            long tailFrom = Math.max(from, sealedUpTo + 1);
+            tasks.add(verifyPool.submit(() -> verifyTail(tailFrom, to)));
+        }
+
+        List<BlockResult> results = new ArrayList<>(tasks.size());
+        for (Future<BlockResult> task : tasks) {
+            results.add(await(task));
+        }
+        List<String> failures = results.stream()
+                .map(BlockResult::failure)
+                .filter(Objects::nonNull)
+                .toList();
+        long entries = results.stream().mapToLong(BlockResult::entries).sum();
+        long linkOnly = results.stream().mapToLong(BlockResult::legacyLinkOnly).sum();
+        return new LedgerVerificationDTO(from, toId, checkpoints.size(), entries, linkOnly, failures.isEmpty(), failures);
+    }
+
+    public LedgerProofDTO proveInclusion(Long entryId) {
+        LedgerCheckpoint checkpoint = checkpointRepository
+                .findFirstByFirstEntryIdLessThanEqualAndLastEntryIdGreaterThanEqual(entryId, entryId)
+                .orElseThrow(() -> new RuntimeException("Entry " + entryId + " is not sealed in a checkpoint yet"));
+
+        List<Long> ids = new ArrayList<>();
+        List<String> hashes = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, hash FROM ledger_entries WHERE id BETWEEN ? AND ? ORDER BY id", rs -> {
+            ids.add(rs.getLong(1));
+            hashes.add(rs.getString(2));
+        }, checkpoint.getFirstEntryId(), checkpoint.getLastEntryId());
+
+        int index = ids.indexOf(entryId);
+        if (index < 0) {
+            throw new RuntimeException("Ledger entry not found");
+        }
+        int version = merkleVersion(checkpoint);
+        List<LedgerProofDTO.ProofStep> path = MerkleTree.proof(hashes, index, version);
+        String leaf = hashes.get(index);
+        boolean valid = MerkleTree.verify(leaf, path, checkpoint.getMerkleRoot(), version);
+        return new LedgerProofDTO(entryId, leaf, checkpoint.getId(), checkpoint.getMerkleRoot(), version, path, valid);
+    }
+
+    private void sealFullBlocks() {
+        while (pendingHashes.size() >= blockSize) {
+            List<Long> blockIds = pendingIds.subList(0, blockSize);
+            List<String> blockHashes = pendingHashes.subList(0, blockSize);
+
+            LedgerCheckpoint checkpoint = new LedgerCheckpoint();
+            checkpoint.setFirstEntryId(blockIds.get(0));
+            checkpoint.setLastEntryId(blockIds.get(blockSize - 1));
+            checkpoint.setEntryCount(blockSize);
+            checkpoint.setMerkleRoot(MerkleTree.root(blockHashes));
+            checkpoint.setMerkleVersion(MerkleTree.VERSION_CURRENT);
+            checkpoint.setCreatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+
+            blockIds.clear();
+            blockHashes.clear();
+        }
+    }
+
+    private BlockResult verifyBlock(LedgerCheckpoint checkpoint) {
+        ChainWalker walker = walk(checkpoint.getFirstEntryId(), checkpoint.getLastEntryId());
+        String label = "Checkpoint " + checkpoint.getId() + " [" + checkpoint.getFirstEntryId() + "-" +
+                checkpoint.getLastEntryId() + "]";
+        if (walker.failure != null) {
+            return walker.result(label + ": " + walker.failure);
+        }
+        if (walker.hashes.size() != checkpoint.getEntryCount()) {
+            return walker.result(label + ": expected " + checkpoint.getEntryCount() +
+                    " entries, found " + walker.hashes.size());
+        }
+        if (!MerkleTree.root(walker.hashes, merkleVersion(checkpoint)).equals(checkpoint.getMerkleRoot())) {
+            return walker.result(label + ": Merkle root mismatch");
+        }
+        return walker.result(null);
+    }
+
+    private static int merkleVersion(LedgerCheckpoint checkpoint) {
+        return checkpoint.getMerkleVersion() != null ? checkpoint.getMerkleVersion() : MerkleTree.VERSION_LEGACY;
+    }
+
+    /** Entries after the last checkpoint: hashes and links only, there is no root to compare yet. */
+    private BlockResult verifyTail(long fromId, long toId) {
+        ChainWalker walker = walk(fromId, toId);
+        return walker.result(walker.failure == null ? null : "Unsealed entries from " + fromId + ": " + walker.failure);
+    }
+
+    private ChainWalker walk(long firstId, long lastId) {
+        ChainWalker walker = new ChainWalker(firstId);
+        // Include the entry just before the range to check the link into it.
+        jdbcTemplate.query(SELECT_ENTRIES_SQL, walker, firstId - 1, lastId);
+        return walker;
+    }
+
+    private static BlockResult await(Future<BlockResult> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while verifying the ledger");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Ledger verification failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Reads entries in id order and records the first problem: a missing
+     * id, a broken link to the previous entry, or a stored hash that does
+     * not match the entry's fields. Entries from before hash versions are
+     * recomputed with the legacy seed; the legacy writer hashed created_at
+     * to the nanosecond, so where the column kept less the hash cannot be
+     * recomputed and only the links are checked. Those are counted, not
+     * failed.
+     */
+    private static final class ChainWalker implements RowCallbackHandler {
+
+        private final MessageDigest digest = LedgerAppender.sha256();
+        private final long firstId;
+        private final List<String> hashes = new ArrayList<>();
+        private long expectedId;
+        private String previousHash;
+        private String failure;
+        private long legacyLinkOnly;
+
+        ChainWalker(long firstId) {
+            this.firstId = firstId;
+            this.expectedId = firstId;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            String hash = rs.getString(7);
+            if (id < firstId) {
+                previousHash = hash;
+                return;
+            }
+            hashes.add(hash);
+            if (failure != null) {
+                return;
+            }
+
+            LedgerEntry entry = new LedgerEntry();
+            entry.setId(id);
+            entry.setEntityType(LedgerEntry.EntityType.valueOf(rs.getString(2)));
+            entry.setEntityId(rs.getLong(3));
+            entry.setAction(rs.getString(4));
+            entry.setDataHash(rs.getString(5));
+            entry.setPreviousHash(rs.getString(6));
+            entry.setMetadata(rs.getString(8));
+            entry.setCreatedAt(rs.getObject(9, LocalDateTime.class));
+            entry.setHashVersion(rs.getObject(10, Integer.class));
+
+            if (id != expectedId) {
+                failure = "entry " + expectedId + " is missing";
+            } else if ((previousHash != null || id == 1) && !Objects.equals(previousHash, entry.getPreviousHash())) {
+                failure = "chain broken at entry " + id;
+            } else if (!LedgerAppender.entryHash(digest, entry).equals(hash)) {
+                if (LedgerAppender.isLegacy(entry)) {
+                    legacyLinkOnly++;
+                } else {
+                    failure = "entry " + id + " does not match its hash";
+                }
+            }
+            previousHash = hash;
+            expectedId = id + 1;
+        }
+
+        BlockResult result(String failure) {
+            return new BlockResult(hashes.size(), legacyLinkOnly, failure);
+        }
+    }
+
+    private record BlockResult(long entries, long legacyLinkOnly, String failure) {
+    }
+}
@@ -1,29 +1,68 @@
 package com.votingplatform.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.votingplatform.entity.LedgerEntry;
 import com.votingplatform.entity.Poll;
 import com.votingplatform.entity.Vote;
 import com.votingplatform.repository.LedgerEntryRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.time.LocalDateTime;
-import java.util.HexFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
 
 @Service
+@Timed("voting.service")
 public class LedgerService {
 
     private static final String ACTION_CREATE = "CREATE";
     private static final String ACTION_UPDATE = "UPDATE";
     private static final String ACTION_DELETE = "DELETE";
+    private static final String ACTION_OPEN = "OPEN";
+    private static final String ACTION_CLOSE = "CLOSE";
     private static final String ACTION_CAST_VOTE = "CAST";
+    private static final String ACTION_BULK_DELETE = "BULK_DELETE";
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private LedgerAppender ledgerAppender;
 
     @Autowired
     private LedgerEntryRepository ledgerEntryRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ledger.export.fetch-size:-2147483648}")
+    private int exportFetchSize;
+
+    // CLOSE entries queued but not yet committed, by data hash, so a retried close does not append a second one.
+    private final Map<String, CompletableFuture<LedgerEntry>> pendingCloses = new ConcurrentHashMap<>();
+
+    /** Fails with {@link ServiceBusyException} while ledger entries cannot be committed. */
+    public void checkWritable() {
+        ledgerAppender.checkWritable();
+    }
+
     public void recordPollCreated(Poll poll) {
         recordPollEvent(poll, ACTION_CREATE);
     }
@@ -36,63 +75,213 @@ public class LedgerService {
         recordPollEvent(poll, ACTION_DELETE);
     }
 
+    public void recordPollOpened(Poll poll) {
+        recordPollEvent(poll, ACTION_OPEN);
+    }
+
+    /**
+     * Close event that also commits to the final results, so a results
+     * snapshot can be checked against the chain. Idempotent: if the same
+     * close is already queued or stored, that entry is returned instead of
+     * appending another.
+     *
+     * @return completed with the stored entry once its batch commits
+     */
+    public CompletableFuture<LedgerEntry> recordPollClosed(Poll poll, String resultsHash, long totalVotes) {
+        String criticalData = String.format("%s|results:%s|total:%d", pollCriticalData(poll), resultsHash, totalVotes);
+        String dataHash = LedgerAppender.hash(LedgerAppender.sha256(), criticalData);
+        CompletableFuture<LedgerEntry> pending = pendingCloses.get(dataHash);
+        if (pending != null) {
+            return pending;
+        }
+        Optional<LedgerEntry> stored = ledgerEntryRepository.findFirstByEntityTypeAndEntityIdAndActionAndDataHash(
+                LedgerEntry.EntityType.POLL, poll.getId(), ACTION_CLOSE, dataHash);
+        if (stored.isPresent()) {
+            return CompletableFuture.completedFuture(stored.get());
+        }
+        String metadata = String.format("Poll %s - %s with %d votes", poll.getId(), ACTION_CLOSE, totalVotes);
+        CompletableFuture<LedgerEntry> appended =
+                recordEntry(LedgerEntry.EntityType.POLL, ACTION_CLOSE, poll.getId(), criticalData, metadata);
+        pendingCloses.put(dataHash, appended);
+        // Once committed the entry is found in the table.
+        appended.whenComplete((entry, error) -> pendingCloses.remove(dataHash, appended));
+        return appended;
+    }
+
+    /**
+     * One summary entry for a bulk poll delete instead of one per poll. The
+     * sorted poll ids are part of the hashed data.
+     */
+    public void recordPollsPurged(String scope, List<Long> pollIds, long votes, long candidates) {
+        List<Long> sorted = pollIds.stream().sorted().toList();
+        String criticalData = String.format("scope:%s|polls:%s|votes:%d|candidates:%d", scope, sorted, votes, candidates);
+        String metadata = String.format("Deleted %d polls (%s), %d votes, %d candidates", pollIds.size(), scope, votes, candidates);
+        recordEntry(LedgerEntry.EntityType.POLL, ACTION_BULK_DELETE, 0L, criticalData, metadata);
+    }
+
+    public void recordVotersPurged(long voters, long votes) {
+        String criticalData = String.format("scope:VOTERS|users:%d|votes:%d", voters, votes);
+        String metadata = String.format("Deleted %d voters and their %d votes", voters, votes);
+        recordEntry(LedgerEntry.EntityType.USER, ACTION_BULK_DELETE, 0L, criticalData, metadata);
+    }
+
     public void recordVoteCast(Vote vote) {
-        String criticalData = String.format("poll:%s|candidate:%s|user:%s|ip:%s",
+        recordEntry(LedgerEntry.EntityType.VOTE, ACTION_CAST_VOTE, vote.getPoll().getId(),
+                voteCriticalData(vote), voteMetadata(vote));
+    }
+
+    /**
+     * CAST entry for a ranked or approval ballot; the full ranking, in
+     * preference order, is part of the hashed data.
+     */
+    public void recordPreferenceVoteCast(Poll poll, Long userId, List<Long> candidateIds, String ipAddress) {
+        String field = poll.getVotingMethod() == Poll.VotingMethod.RANKED ? "ranking" : "approvals";
+        String criticalData = String.format("poll:%s|%s:%s|user:%s|ip:%s",
+                poll.getId(), field, candidateIds, userId, safe(ipAddress));
+        String metadata = String.format("%s ballot for poll %s by user %s", poll.getVotingMethod(), poll.getId(), userId);
+        recordEntry(LedgerEntry.EntityType.VOTE, ACTION_CAST_VOTE, poll.getId(), criticalData, metadata);
+    }
+
+    /**
+     * CAST entries for a batch of votes, appended as one contiguous segment.
+     */
+    public void recordVotesCast(List<Vote> votes) {
+        List<LedgerAppender.Draft> drafts = new ArrayList<>(votes.size());
+        for (Vote vote : votes) {
+            drafts.add(new LedgerAppender.Draft(LedgerEntry.EntityType.VOTE, ACTION_CAST_VOTE, vote.getPoll().getId(),
+                    voteCriticalData(vote), voteMetadata(vote)));
+        }
+        ledgerAppender.appendAll(drafts);
+    }
+
+    /**
+     * One entry for a multi-poll ballot. Its data hash is the Merkle root
+     * over the hashes of the choices, ordered by poll id, so any single
+     * choice can later be proven part of the ballot.
+     *
+     * @return the Merkle root recorded as the entry's data hash
+     */
+    public String recordBallotCast(Long userId, List<Vote> choices) {
+        List<Vote> ordered = choices.stream()
+                .sorted(Comparator.comparing(vote -> vote.getPoll().getId()))
+                .toList();
+        MessageDigest digest = LedgerAppender.sha256();
+        List<String> leaves = new ArrayList<>(ordered.size());
+        for (Vote vote : ordered) {
+            leaves.add(LedgerAppender.hash(digest, voteCriticalData(vote)));
+        }
+        String root = MerkleTree.root(leaves);
+        List<Long> pollIds = ordered.stream().map(vote -> vote.getPoll().getId()).toList();
+        String metadata = String.format("Ballot by user %s for polls %s", userId, pollIds);
+        ledgerAppender.appendHashed(LedgerEntry.EntityType.BALLOT, ACTION_CAST_VOTE, userId, root, metadata);
+        return root;
+    }
+
+    /** The number of entries a page requested with {@code limit} holds when it is full. */
+    public int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Keyset page of entries, newest first. Pass the smallest id of the
+     * previous page as {@code beforeId} to get the next one.
+     */
+    public List<LedgerEntry> getPage(Long beforeId, int limit, LedgerEntry.EntityType entityType, Long entityId) {
+        checkFilter(entityType, entityId);
+        long cursor = beforeId != null ? beforeId : Long.MAX_VALUE;
+        PageRequest page = PageRequest.of(0, pageSize(limit));
+        if (entityType == null) {
+            return ledgerEntryRepository.findByIdLessThanOrderByIdDesc(cursor, page);
+        }
+        if (entityId == null) {
+            return ledgerEntryRepository.findByEntityTypeAndIdLessThanOrderByIdDesc(entityType, cursor, page);
+        }
+        return ledgerEntryRepository.findByEntityTypeAndEntityIdAndIdLessThanOrderByIdDesc(entityType, entityId, cursor, page);
+    }
+
+    /**
+     * Writes matching entries as newline-delimited JSON in id order, reading
+     * them through a forward-only JDBC cursor so memory use stays flat.
+     */
+    public void exportEntries(OutputStream out, LedgerEntry.EntityType entityType, Long entityId) throws IOException {
+        checkFilter(entityType, entityId);
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, entity_type, entity_id, action, data_hash, previous_hash, hash, metadata, created_at, hash_version " +
+                "FROM ledger_entries WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (entityType != null) {
+            sql.append(" AND entity_type = ?");
+            args.add(entityType.name());
+            if (entityId != null) {
+                sql.append(" AND entity_id = ?");
+                args.add(entityId);
+            }
+        }
+        sql.append(" ORDER BY id");
+
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(exportFetchSize);
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            streaming.query(sql.toString(), rs -> {
+                LedgerEntry entry = new LedgerEntry();
+                entry.setId(rs.getLong(1));
+                entry.setEntityType(LedgerEntry.EntityType.valueOf(rs.getString(2)));
+                entry.setEntityId(rs.getLong(3));
+                entry.setAction(rs.getString(4));
+                entry.setDataHash(rs.getString(5));
+                entry.setPreviousHash(rs.getString(6));
+                entry.setHash(rs.getString(7));
+                entry.setMetadata(rs.getString(8));
+                entry.setCreatedAt(rs.getTimestamp(9).toLocalDateTime());
+                entry.setHashVersion(rs.getObject(10, Integer.class));
+                try {
+                    writer.write(entry);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args.toArray());
+        }
+    }
+
+    /** Entity ids are only unique within a type, so an id filter needs the type too. */
+    public void checkFilter(LedgerEntry.EntityType entityType, Long entityId) {
+        if (entityId != null && entityType == null) {
+            throw new IllegalArgumentException("entityId requires entityType");
+        }
+    }
+
+    private void recordPollEvent(Poll poll, String action) {
+        String metadata = String.format("Poll %s - %s", poll.getId(), action);
+        recordEntry(LedgerEntry.EntityType.POLL, action, poll.getId(), pollCriticalData(poll), metadata);
+    }
+
+    private String voteCriticalData(Vote vote) {
+        return String.format("poll:%s|candidate:%s|user:%s|ip:%s",
                 vote.getPoll().getId(),
                 vote.getCandidate().getId(),
                 vote.getUser().getId(),
                 safe(vote.getIpAddress()));
+    }
 
-        String metadata = String.format("Vote for poll %s by user %s", vote.getPoll().getId(), vote.getUser().getId());
-        recordEntry(LedgerEntry.EntityType.VOTE, ACTION_CAST_VOTE, vote.getPoll().getId(), criticalData, metadata);
+    private String voteMetadata(Vote vote) {
+        return String.format("Vote for poll %s by user %s", vote.getPoll().getId(), vote.getUser().getId());
     }
 
-    private void recordPollEvent(Poll poll, String action) {
-        String criticalData = String.format("poll:%s|title:%s|status:%s|start:%s|end:%s",
+    private String pollCriticalData(Poll poll) {
+        return String.format("poll:%s|title:%s|status:%s|start:%s|end:%s",
                 poll.getId(),
                 safe(poll.getTitle()),
                 poll.getStatus(),
                 poll.getStartDate(),
                 poll.getEndDate());
-        String metadata = String.format("Poll %s - %s", poll.getId(), action);
-        recordEntry(LedgerEntry.EntityType.POLL, action, poll.getId(), criticalData, metadata);
-    }
-
-    private void recordEntry(LedgerEntry.EntityType entityType,
-                             String action,
-                             Long entityId,
-                             String criticalData,
-                             String metadata) {
-        String dataHash = hash(criticalData);
-        String previousHash = ledgerEntryRepository.findTopByOrderByIdDesc()
-                .map(LedgerEntry::getHash)
-                .orElse(null);
-
-        LocalDateTime now = LocalDateTime.now();
-        String blockSeed = entityType + "|" + action + "|" + entityId + "|" + dataHash + "|" +
-                (previousHash == null ? "GENESIS" : previousHash) + "|" + now;
-        String blockHash = hash(blockSeed);
-
-        LedgerEntry entry = new LedgerEntry();
-        entry.setEntityType(entityType);
-        entry.setAction(action);
-        entry.setEntityId(entityId);
-        entry.setDataHash(dataHash);
-        entry.setPreviousHash(previousHash);
-        entry.setHash(blockHash);
-        entry.setMetadata(metadata);
-        entry.setCreatedAt(now);
-        ledgerEntryRepository.save(entry);
-    }
-
-    private String hash(String value) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashed = digest.digest(value.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hashed);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 not available", e);
-        }
+    }
+
+    private CompletableFuture<LedgerEntry> recordEntry(LedgerEntry.EntityType entityType,
+                                                       String action,
+                                                       Long entityId,
+                                                       String criticalData,
+                                                       String metadata) {
+        return ledgerAppender.append(entityType, action, entityId, criticalData, metadata);
     }
 
     private String safe(Object value) {
@@ -0,0 +1,133 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.LedgerProofDTO;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 Merkle tree over hex-encoded leaf hashes. Leaves are hashed as
+ * {@code SHA-256(0x00 || leaf)} and parents as {@code SHA-256(0x01 || left || right)},
+ * so an inner node can never pass for a leaf; an odd node at the end of a
+ * level is carried up unchanged rather than paired with itself, so no two
+ * leaf lists share a root.
+ *
+ * <p>Roots sealed before this layout ({@link #VERSION_LEGACY}) hashed raw
+ * concatenations and paired an odd node with itself; they are still checked
+ * that way.
+ */
+public final class MerkleTree {
+
+    public static final int VERSION_LEGACY = 1;
+    public static final int VERSION_CURRENT = 2;
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    private MerkleTree() {
+    }
+
+    public static String root(List<String> leaves) {
+        return root(leaves, VERSION_CURRENT);
+    }
+
+    public static String root(List<String> leaves, int version) {
+        if (leaves.isEmpty()) {
+            throw new IllegalArgumentException("Merkle tree needs at least one leaf");
+        }
+        MessageDigest digest = sha256();
+        List<byte[]> level = leafLevel(leaves, digest, version);
+        while (level.size() > 1) {
+            level = parentLevel(level, digest, version);
+        }
+        return HEX.formatHex(level.get(0));
+    }
+
+    /**
+     * Sibling path from the leaf at {@code index} up to the root. Levels where
+     * the node is carried up without a sibling add no step.
+     */
+    public static List<LedgerProofDTO.ProofStep> proof(List<String> leaves, int index, int version) {
+        if (index < 0 || index >= leaves.size()) {
+            throw new IllegalArgumentException("Leaf index out of range");
+        }
+        MessageDigest digest = sha256();
+        List<LedgerProofDTO.ProofStep> path = new ArrayList<>();
+        List<byte[]> level = leafLevel(leaves, digest, version);
+        int position = index;
+        while (level.size() > 1) {
+            int sibling = (position % 2 == 0) ? position + 1 : position - 1;
+            if (sibling < level.size()) {
+                path.add(new LedgerProofDTO.ProofStep(HEX.formatHex(level.get(sibling)), sibling < position));
+            } else if (version == VERSION_LEGACY) {
+                path.add(new LedgerProofDTO.ProofStep(HEX.formatHex(level.get(position)), false));
+            }
+            level = parentLevel(level, digest, version);
+            position /= 2;
+        }
+        return path;
+    }
+
+    public static boolean verify(String leaf, List<LedgerProofDTO.ProofStep> path, String root, int version) {
+        MessageDigest digest = sha256();
+        byte[] current = hashLeaf(digest, HEX.parseHex(leaf), version);
+        for (LedgerProofDTO.ProofStep step : path) {
+            byte[] sibling = HEX.parseHex(step.getSiblingHash());
+            current = step.isSiblingOnLeft()
+                    ? combine(digest, sibling, current, version)
+                    : combine(digest, current, sibling, version);
+        }
+        return HEX.formatHex(current).equalsIgnoreCase(root);
+    }
+
+    private static List<byte[]> leafLevel(List<String> leaves, MessageDigest digest, int version) {
+        List<byte[]> level = new ArrayList<>(leaves.size());
+        for (String leaf : leaves) {
+            level.add(hashLeaf(digest, HEX.parseHex(leaf), version));
+        }
+        return level;
+    }
+
+    private static List<byte[]> parentLevel(List<byte[]> level, MessageDigest digest, int version) {
+        List<byte[]> parents = new ArrayList<>((level.size() + 1) / 2);
+        for (int i = 0; i < level.size(); i += 2) {
+            byte[] left = level.get(i);
+            if (i + 1 < level.size()) {
+                parents.add(combine(digest, left, level.get(i + 1), version));
+            } else {
+                parents.add(version == VERSION_LEGACY ? combine(digest, left, left, version) : left);
+            }
+        }
+        return parents;
+    }
+
+    private static byte[] hashLeaf(MessageDigest digest, byte[] leaf, int version) {
+        if (version == VERSION_LEGACY) {
+            return leaf;
+        }
+        digest.update(LEAF_PREFIX);
+        digest.update(leaf);
+        return digest.digest();
+    }
+
+    private static byte[] combine(MessageDigest digest, byte[] left, byte[] right, int version) {
+        if (version != VERSION_LEGACY) {
+            digest.update(NODE_PREFIX);
+        }
+        digest.update(left);
+        digest.update(right);
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.TabulationRoundDTO;
+import com.votingplatform.dto.VoteResultDTO;
+import com.votingplatform.entity.Poll;
+import com.votingplatform.entity.PollResult;
+import com.votingplatform.repository.PollRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves polls from PENDING to ACTIVE at their start date and from ACTIVE to
+ * COMPLETED at their end date. Each poll has one live transition in a delay
+ * queue that a single thread takes as it falls due. The status flip is a
+ * conditional update, so with several nodes only one of them records the
+ * ledger event, while every node refreshes its own caches. On close the
+ * final tally is frozen and stored as the poll's results snapshot; that
+ * part runs on a small close pool, since it waits for queued votes and the
+ * ledger, so one slow close does not delay other polls' transitions. A
+ * COMPLETED poll without a stored snapshot, e.g. after a failed publish, a
+ * vote queue that did not drain in time, or a restart mid-close, is finished
+ * again; the CLOSE ledger entry is only appended once. Transitions only
+ * move forward.
+ */
+@Service
+public class PollLifecycleService {
+
+    private static final Logger log = LoggerFactory.getLogger(PollLifecycleService.class);
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private PollMetadataCache pollMetadataCache;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private VoteTallyService voteTallyService;
+
+    @Autowired
+    private TabulationService tabulationService;
+
+    @Autowired
+    private VoteIngestionService voteIngestionService;
+
+    @Autowired
+    private ResultsPushService resultsPushService;
+
+    @Autowired
+    private PollResultsService pollResultsService;
+
+    @Value("${voting.lifecycle.close-threads:2}")
+    private int closeThreads;
+
+    @Value("${voting.lifecycle.settle-timeout-ms:30000}")
+    private long settleTimeoutMs;
+
+    private final DelayQueue<Transition> queue = new DelayQueue<>();
+    // pollId -> due time of its live transition; queue entries that no longer match are stale
+    private final Map<Long, LocalDateTime> scheduled = new ConcurrentHashMap<>();
+    private final Set<Long> closing = ConcurrentHashMap.newKeySet();
+    private Thread worker;
+    private ExecutorService closePool;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        pollRepository.findByStatusIn(List.of(Poll.Status.PENDING, Poll.Status.ACTIVE)).forEach(this::schedule);
+        pollRepository.findByStatusWithoutResults(Poll.Status.COMPLETED).forEach(this::schedule);
+        AtomicInteger closeThreadCount = new AtomicInteger();
+        closePool = Executors.newFixedThreadPool(closeThreads, runnable -> {
+            Thread thread = new Thread(runnable, "poll-close-" + closeThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        worker = new Thread(this::runLoop, "poll-lifecycle");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+        closePool.shutdownNow();
+    }
+
+    /** The status a poll with these dates should have at {@code now}. */
+    public static Poll.Status statusAt(LocalDateTime startDate, LocalDateTime endDate, LocalDateTime now) {
+        if (now.isBefore(startDate)) {
+            return Poll.Status.PENDING;
+        }
+        return now.isBefore(endDate) ? Poll.Status.ACTIVE : Poll.Status.COMPLETED;
+    }
+
+    /** Schedules the next transition of a poll from its status and dates, replacing any earlier one. */
+    public void schedule(Poll poll) {
+        LocalDateTime at = switch (poll.getStatus()) {
+            case PENDING -> poll.getStartDate();
+            case ACTIVE -> poll.getEndDate();
+            case COMPLETED -> pollResultsService.getSnapshot(poll.getId()).isPresent() ? null : LocalDateTime.now();
+        };
+        if (at == null) {
+            scheduled.remove(poll.getId());
+        } else if (!at.equals(scheduled.put(poll.getId(), at))) {
+            queue.add(new Transition(poll.getId(), at));
+        }
+    }
+
+    public void cancel(Long pollId) {
+        scheduled.remove(pollId);
+    }
+
+    private void runLoop() {
+        while (running) {
+            Transition next;
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                running = false;
+                break;
+            }
+            if (!next.at.equals(scheduled.get(next.pollId))) {
+                continue;
+            }
+            try {
+                advance(next.pollId);
+            } catch (RuntimeException e) {
+                log.error("Lifecycle transition for poll {} failed, retrying in {}s",
+                        next.pollId, RETRY_DELAY.toSeconds(), e);
+                retryLater(next.pollId);
+            }
+        }
+    }
+
+    private void retryLater(Long pollId) {
+        LocalDateTime retryAt = LocalDateTime.now().plus(RETRY_DELAY);
+        scheduled.put(pollId, retryAt);
+        queue.add(new Transition(pollId, retryAt));
+    }
+
+    private void advance(Long pollId) {
+        scheduled.remove(pollId);
+        Poll poll = pollRepository.findById(pollId).orElse(null);
+        if (poll == null) {
+            return;
+        }
+        Poll.Status target = statusAt(poll.getStartDate(), poll.getEndDate(), LocalDateTime.now());
+        if (poll.getStatus() == Poll.Status.PENDING && target != Poll.Status.PENDING) {
+            open(poll);
+        }
+        if (poll.getStatus() == Poll.Status.ACTIVE && target == Poll.Status.COMPLETED) {
+            close(poll);
+        } else if (poll.getStatus() == Poll.Status.COMPLETED && pollResultsService.getSnapshot(pollId).isEmpty()) {
+            finishLater(poll, true);
+        }
+        if (pollMetadataCache.reload(pollId) != null && poll.getStatus() != Poll.Status.COMPLETED) {
+            schedule(poll);
+        }
+    }
+
+    private void open(Poll poll) {
+        boolean recorded = pollRepository.updateStatus(poll.getId(), Poll.Status.PENDING, Poll.Status.ACTIVE) == 1;
+        poll.setStatus(Poll.Status.ACTIVE);
+        pollMetadataCache.reload(poll.getId());
+        if (recorded) {
+            ledgerService.recordPollOpened(poll);
+            log.info("Poll {} opened", poll.getId());
+        }
+    }
+
+    /**
+     * Flips the poll to COMPLETED; from then on the vote inserts refuse it,
+     * so the table holds its final votes once queued ones are written.
+     */
+    private void close(Poll poll) {
+        boolean recorded = pollRepository.updateStatus(poll.getId(), Poll.Status.ACTIVE, Poll.Status.COMPLETED) == 1;
+        poll.setStatus(Poll.Status.COMPLETED);
+        pollMetadataCache.reload(poll.getId());
+        finishLater(poll, recorded);
+    }
+
+    private void finishLater(Poll poll, boolean recorded) {
+        if (closing.add(poll.getId())) {
+            closePool.execute(() -> finishClose(poll, recorded));
+        }
+    }
+
+    private void finishClose(Poll poll, boolean recorded) {
+        try {
+            if (!voteIngestionService.awaitSettled(settleTimeoutMs)) {
+                // Queued votes may still be for this poll; freezing now would leave them out of the results.
+                log.warn("Vote queue did not drain within {}ms while closing poll {}, retrying in {}s",
+                        settleTimeoutMs, poll.getId(), RETRY_DELAY.toSeconds());
+                retryLater(poll.getId());
+                return;
+            }
+            List<VoteResultDTO> finalResults = freezeResults(poll);
+            if (recorded) {
+                PollResult snapshot = pollResultsService.publish(poll, finalResults);
+                log.info("Poll {} closed with {} votes", poll.getId(), snapshot.getTotalVotes());
+            }
+            resultsPushService.closePoll(poll.getId(), finalResults);
+        } catch (RuntimeException e) {
+            log.error("Storing the results of poll {} failed, retrying in {}s", poll.getId(), RETRY_DELAY.toSeconds(), e);
+            retryLater(poll.getId());
+        } finally {
+            closing.remove(poll.getId());
+        }
+    }
+
+    /** Final counts: plurality tallies, or the deciding round of a ranked or approval poll. */
+    private List<VoteResultDTO> freezeResults(Poll poll) {
+        if (poll.getVotingMethod() == Poll.VotingMethod.PLURALITY) {
+            return voteTallyService.freeze(poll.getId());
+        }
+        List<TabulationRoundDTO> rounds = tabulationService.freeze(poll).getRounds();
+        return rounds.get(rounds.size() - 1).getTallies();
+    }
+
+    private record Transition(Long pollId, LocalDateTime at) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), at));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return at.compareTo(((Transition) other).at);
+        }
+    }
+}
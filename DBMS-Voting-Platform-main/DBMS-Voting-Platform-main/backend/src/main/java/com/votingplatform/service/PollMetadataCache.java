@@ -0,0 +1,221 @@
+package com.votingplatform.service;
+
+import com.votingplatform.entity.Candidate;
+import com.votingplatform.entity.Poll;
+import com.votingplatform.repository.CandidateRepository;
+import com.votingplatform.repository.PollRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache of polls and their candidates. Everything is loaded on
+ * startup and kept in sync by {@link PollService} whenever a poll or
+ * candidate is written, so the vote path and the voter pages read metadata
+ * without touching the database. Ids that are not found are remembered for
+ * a short while too, so requests for unknown polls or candidates do not each
+ * reach the database; caching a poll or candidate clears its miss at once.
+ * Cached entities are detached and shared between threads; callers must
+ * treat them as read-only.
+ */
+@Service
+public class PollMetadataCache {
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.poll-cache.miss-ttl-ms:2000}")
+    private long missTtlMs;
+
+    @Value("${voting.poll-cache.miss-max-size:10000}")
+    private int missMaxSize;
+
+    private final Map<Long, PollEntry> polls = new ConcurrentHashMap<>();
+    private final Map<Long, Candidate> candidates = new ConcurrentHashMap<>();
+    // Ids found missing, mapped to when (System.nanoTime) that answer expires
+    private final Map<Long, Long> missingPolls = new ConcurrentHashMap<>();
+    private final Map<Long, Long> missingCandidates = new ConcurrentHashMap<>();
+    private Counter pollHits;
+    private Counter pollMisses;
+    private Counter candidateHits;
+    private Counter candidateMisses;
+
+    @PostConstruct
+    public void warm() {
+        pollHits = meterRegistry.counter("cache.gets", "cache", "polls", "result", "hit");
+        pollMisses = meterRegistry.counter("cache.gets", "cache", "polls", "result", "miss");
+        candidateHits = meterRegistry.counter("cache.gets", "cache", "candidates", "result", "hit");
+        candidateMisses = meterRegistry.counter("cache.gets", "cache", "candidates", "result", "miss");
+        Gauge.builder("cache.size", polls, Map::size).tag("cache", "polls").register(meterRegistry);
+        Gauge.builder("cache.size", candidates, Map::size).tag("cache", "candidates").register(meterRegistry);
+
+        Map<Long, Poll> loaded = new HashMap<>();
+        pollRepository.findAll().forEach(poll -> loaded.put(poll.getId(), poll));
+
+        Map<Long, List<Candidate>> byPoll = new HashMap<>();
+        for (Candidate candidate : candidateRepository.findAll()) {
+            // Reading the id of the lazy reference does not initialise it; the real poll replaces it.
+            Poll poll = loaded.get(candidate.getPoll().getId());
+            if (poll != null) {
+                candidate.setPoll(poll);
+                byPoll.computeIfAbsent(poll.getId(), id -> new ArrayList<>()).add(candidate);
+            }
+        }
+        loaded.values().forEach(poll -> put(poll, byPoll.getOrDefault(poll.getId(), List.of())));
+    }
+
+    public Optional<Poll> getPoll(Long pollId) {
+        PollEntry entry = polls.get(pollId);
+        if (entry != null || knownMissing(missingPolls, pollId)) {
+            pollHits.increment();
+        } else {
+            pollMisses.increment();
+            entry = reload(pollId);
+        }
+        return entry == null ? Optional.empty() : Optional.of(entry.poll());
+    }
+
+    public List<Poll> getAllPolls() {
+        return polls.values().stream()
+                .map(PollEntry::poll)
+                .sorted(Comparator.comparing(Poll::getId))
+                .toList();
+    }
+
+    public List<Poll> getPollsByStatus(Poll.Status status) {
+        return polls.values().stream()
+                .map(PollEntry::poll)
+                .filter(poll -> poll.getStatus() == status)
+                .sorted(Comparator.comparing(Poll::getId))
+                .toList();
+    }
+
+    public List<Candidate> getCandidates(Long pollId) {
+        return getEntry(pollId).map(PollEntry::candidates).orElse(List.of());
+    }
+
+    public Optional<Candidate> getCandidate(Long candidateId) {
+        Candidate candidate = candidates.get(candidateId);
+        if (candidate != null || knownMissing(missingCandidates, candidateId)) {
+            candidateHits.increment();
+        } else {
+            candidateMisses.increment();
+            // Unknown id: refresh its poll once in case it was added outside the cache.
+            candidate = candidateRepository.findById(candidateId)
+                    .map(found -> reload(found.getPoll().getId()))
+                    .map(entry -> candidates.get(candidateId))
+                    .orElse(null);
+            if (candidate == null) {
+                recordMissing(missingCandidates, candidateId);
+            }
+        }
+        return Optional.ofNullable(candidate);
+    }
+
+    /** Caches a poll that was just created and has no candidates yet. */
+    public void putNew(Poll poll) {
+        put(poll, List.of());
+    }
+
+    /** Reloads a poll and its candidates after either was written. */
+    public PollEntry reload(Long pollId) {
+        Optional<Poll> poll = pollRepository.findById(pollId);
+        if (poll.isEmpty()) {
+            evict(pollId);
+            recordMissing(missingPolls, pollId);
+            return null;
+        }
+        List<Candidate> pollCandidates = candidateRepository.findByPollId(pollId);
+        pollCandidates.forEach(candidate -> candidate.setPoll(poll.get()));
+        return put(poll.get(), pollCandidates);
+    }
+
+    public void evict(Long pollId) {
+        PollEntry removed = polls.remove(pollId);
+        if (removed != null) {
+            unlink(removed);
+        }
+    }
+
+    private Optional<PollEntry> getEntry(Long pollId) {
+        PollEntry entry = polls.get(pollId);
+        if (entry == null && !knownMissing(missingPolls, pollId)) {
+            entry = reload(pollId);
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    private PollEntry put(Poll poll, List<Candidate> pollCandidates) {
+        PollEntry entry = new PollEntry(poll, List.copyOf(pollCandidates));
+        PollEntry previous = polls.put(poll.getId(), entry);
+        missingPolls.remove(poll.getId());
+        pollCandidates.forEach(candidate -> {
+            candidates.put(candidate.getId(), candidate);
+            missingCandidates.remove(candidate.getId());
+        });
+        if (previous != null) {
+            unlink(previous);
+        }
+        return entry;
+    }
+
+    private void unlink(PollEntry entry) {
+        // Entities compare by value including lazy associations, so stale candidates are matched by identity.
+        for (Candidate old : entry.candidates()) {
+            candidates.computeIfPresent(old.getId(), (id, current) -> current == old ? null : current);
+        }
+    }
+
+    private boolean knownMissing(Map<Long, Long> missing, Long id) {
+        Long expiresAt = missing.get(id);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() < 0) {
+            missing.remove(id, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    private void recordMissing(Map<Long, Long> missing, Long id) {
+        if (missTtlMs <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (missing.size() >= missMaxSize) {
+            missing.values().removeIf(expiresAt -> expiresAt - now < 0);
+            // Still full: drop an arbitrary tenth, as the other caches do.
+            Iterator<Long> ids = missing.keySet().iterator();
+            int toDrop = missing.size() - missMaxSize + Math.max(1, missMaxSize / 10);
+            while (toDrop-- > 0 && ids.hasNext()) {
+                ids.next();
+                ids.remove();
+            }
+        }
+        missing.put(id, now + TimeUnit.MILLISECONDS.toNanos(missTtlMs));
+    }
+
+    public record PollEntry(Poll poll, List<Candidate> candidates) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.votingplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.votingplatform.dto.VoteResultDTO;
+import com.votingplatform.entity.LedgerEntry;
+import com.votingplatform.entity.Poll;
+import com.votingplatform.entity.PollResult;
+import com.votingplatform.repository.PollResultRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Final results of completed polls. The snapshot is written once when a poll
+ * closes, together with the hash of the ledger CLOSE entry that commits to
+ * it, and is then served as stored JSON without touching the votes table.
+ */
+@Service
+@Timed("voting.service")
+public class PollResultsService {
+
+    @Autowired
+    private PollResultRepository pollResultRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${voting.results.ledger-wait-ms:10000}")
+    private long ledgerWaitMs;
+
+    private final Map<Long, PollResult> snapshots = new ConcurrentHashMap<>();
+
+    /** Records the close event and stores the snapshot of a poll that just closed. */
+    public PollResult publish(Poll poll, List<VoteResultDTO> finalResults) {
+        List<VoteResultDTO> ordered = finalResults.stream()
+                .sorted(Comparator.comparing(VoteResultDTO::getCandidateId))
+                .toList();
+        String json = toJson(ordered);
+        String resultsHash = LedgerAppender.hash(LedgerAppender.sha256(), json);
+        long totalVotes = ordered.stream().mapToLong(VoteResultDTO::getVotes).sum();
+
+        PollResult snapshot = new PollResult();
+        snapshot.setPollId(poll.getId());
+        snapshot.setTotalVotes(totalVotes);
+        snapshot.setResults(json);
+        snapshot.setResultsHash(resultsHash);
+        snapshot.setLedgerHash(awaitLedgerHash(ledgerService.recordPollClosed(poll, resultsHash, totalVotes)
+                .thenApply(LedgerEntry::getHash), poll.getId()));
+        snapshot.setClosedAt(LocalDateTime.now());
+
+        PollResult saved = pollResultRepository.save(snapshot);
+        snapshots.put(poll.getId(), saved);
+        return saved;
+    }
+
+    public Optional<PollResult> getSnapshot(Long pollId) {
+        PollResult snapshot = snapshots.get(pollId);
+        if (snapshot != null) {
+            return Optional.of(snapshot);
+        }
+        // Written before a restart.
+        Optional<PollResult> stored = pollResultRepository.findById(pollId);
+        stored.ifPresent(found -> snapshots.put(pollId, found));
+        return stored;
+    }
+
+    public void evict(Long pollId) {
+        snapshots.remove(pollId);
+    }
+
+    /**
+     * The hash of the committed CLOSE entry. Throws if it is not confirmed
+     * in time, so the snapshot is not stored and the close is retried; the
+     * retry picks up the same entry rather than appending another.
+     */
+    private String awaitLedgerHash(CompletableFuture<String> hash, Long pollId) {
+        try {
+            return hash.get(ledgerWaitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Close entry for poll " + pollId + " not confirmed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the close entry of poll " + pollId, e);
+        }
+    }
+
+    private String toJson(List<VoteResultDTO> results) {
+        try {
+            return objectMapper.writeValueAsString(results);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise poll results", e);
+        }
+    }
+}
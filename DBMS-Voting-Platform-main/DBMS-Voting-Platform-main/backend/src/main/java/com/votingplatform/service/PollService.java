@@ -1,105 +1,204 @@
 package com.votingplatform.service;
 
 import com.votingplatform.dto.PollRequest;
+import com.votingplatform.entity.Candidate;
 import com.votingplatform.entity.Poll;
 import com.votingplatform.entity.User;
 import com.votingplatform.repository.CandidateRepository;
 import com.votingplatform.repository.PollRepository;
 import com.votingplatform.repository.UserRepository;
-import com.votingplatform.repository.VoteRepository;
+import com.votingplatform.security.CurrentUser;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed("voting.service")
 public class PollService {
 
+    private static final int PURGE_POLLS_PER_TRANSACTION = 500;
+
     @Autowired
     private PollRepository pollRepository;
 
+    @Autowired
+    private CandidateRepository candidateRepository;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private CandidateRepository candidateRepository;
+    private PollMetadataCache pollMetadataCache;
 
     @Autowired
-    private VoteRepository voteRepository;
+    private PollLifecycleService pollLifecycleService;
+
+    @Autowired
+    private PollResultsService pollResultsService;
 
     @Autowired
     private LedgerService ledgerService;
 
+    @Autowired
+    private VoteTallyService voteTallyService;
+
+    @Autowired
+    private VoterIndexService voterIndexService;
+
+    @Autowired
+    private TabulationService tabulationService;
+
+    @Autowired
+    private ChunkedDeleter chunkedDeleter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     public Poll createPoll(PollRequest request) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        validateDates(request);
+        User user = userRepository.getReferenceById(CurrentUser.id());
 
         Poll poll = new Poll();
         poll.setTitle(request.getTitle());
         poll.setDescription(request.getDescription());
         poll.setStartDate(request.getStartDate());
         poll.setEndDate(request.getEndDate());
-        poll.setStatus(Poll.Status.ACTIVE);
+        poll.setStatus(PollLifecycleService.statusAt(request.getStartDate(), request.getEndDate(), LocalDateTime.now()));
+        // Fixed at creation: ballots of one kind cannot be counted under another.
+        poll.setVotingMethod(request.getVotingMethod() != null ? request.getVotingMethod() : Poll.VotingMethod.PLURALITY);
         poll.setCreatedBy(user);
 
         Poll savedPoll = pollRepository.save(poll);
+        pollMetadataCache.putNew(savedPoll);
         ledgerService.recordPollCreated(savedPoll);
+        pollLifecycleService.schedule(savedPoll);
         return savedPoll;
     }
 
     public List<Poll> getAllPolls() {
-        return pollRepository.findAll();
+        return pollMetadataCache.getAllPolls();
     }
 
     public List<Poll> getActivePolls() {
-        return pollRepository.findActivePolls(LocalDateTime.now());
+        return pollMetadataCache.getPollsByStatus(Poll.Status.ACTIVE);
     }
 
     public Poll getPollById(Long id) {
-        return pollRepository.findById(id)
+        return pollMetadataCache.getPoll(id)
                 .orElseThrow(() -> new RuntimeException("Poll not found"));
     }
 
+    public List<Candidate> getCandidates(Long pollId) {
+        return pollMetadataCache.getCandidates(pollId);
+    }
+
     public Poll updatePoll(Long id, PollRequest request) {
-        Poll poll = getPollById(id);
+        validateDates(request);
+        // Cached polls are shared between requests, so edits go to a freshly loaded copy.
+        Poll poll = pollRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Poll not found"));
         poll.setTitle(request.getTitle());
         poll.setDescription(request.getDescription());
         poll.setStartDate(request.getStartDate());
         poll.setEndDate(request.getEndDate());
         Poll updated = pollRepository.save(poll);
+        pollMetadataCache.reload(id);
         ledgerService.recordPollUpdated(updated);
+        pollLifecycleService.schedule(updated);
         return updated;
     }
 
-    @Transactional
+    private void validateDates(PollRequest request) {
+        if (request.getStartDate() == null || request.getEndDate() == null) {
+            throw new RuntimeException("Start and end dates are required");
+        }
+        if (!request.getEndDate().isAfter(request.getStartDate())) {
+            throw new RuntimeException("End date must be after start date");
+        }
+    }
+
+    public Candidate addCandidate(Long pollId, String name, String description) {
+        Poll poll = getPollById(pollId);
+
+        Candidate candidate = new Candidate();
+        candidate.setName(name);
+        candidate.setDescription(description);
+        candidate.setPoll(poll);
+
+        Candidate savedCandidate = candidateRepository.save(candidate);
+        pollMetadataCache.reload(pollId);
+        return savedCandidate;
+    }
+
     public void deletePoll(Long id) {
         Poll poll = getPollById(id);
-        deletePollInternal(poll);
+        purgePolls(List.of(poll.getId()));
+        ledgerService.recordPollDeleted(poll);
     }
 
-    @Transactional
     public long deleteAllPolls() {
-        List<Poll> polls = pollRepository.findAll();
-        polls.forEach(this::deletePollInternal);
-        return polls.size();
+        return purgeAndSummarise(pollRepository.findAllIds(), "ALL");
     }
 
-    @Transactional
     public long deleteActivePolls() {
-        List<Poll> activePolls = pollRepository.findByStatus(Poll.Status.ACTIVE);
-        activePolls.forEach(this::deletePollInternal);
-        return activePolls.size();
+        return purgeAndSummarise(pollRepository.findIdsByStatus(Poll.Status.ACTIVE), "ACTIVE");
     }
 
-    private void deletePollInternal(Poll poll) {
-        Long pollId = poll.getId();
-        voteRepository.deleteByPollId(pollId);
-        candidateRepository.deleteByPollId(pollId);
-        pollRepository.deleteById(pollId);
-        ledgerService.recordPollDeleted(poll);
+    private long purgeAndSummarise(List<Long> pollIds, String scope) {
+        if (pollIds.isEmpty()) {
+            return 0;
+        }
+        long[] removed = purgePolls(pollIds);
+        ledgerService.recordPollsPurged(scope, pollIds, removed[0], removed[1]);
+        return pollIds.size();
+    }
+
+    /**
+     * Deletes the polls with their votes, ranked and approval ballots and
+     * candidates. Votes and ballots go first in
+     * chunked transactions per poll; the last transaction sweeps any vote
+     * that slipped in meanwhile, then removes candidates and polls.
+     *
+     * @return {@code [votes, candidates]} deleted
+     */
+    private long[] purgePolls(List<Long> pollIds) {
+        long votes = 0;
+        for (Long pollId : pollIds) {
+            votes += chunkedDeleter.deleteWhere("votes", "poll_id = ?", pollId);
+            votes += chunkedDeleter.deleteWhere("preference_ballots", "poll_id = ?", pollId);
+        }
+
+        long candidates = 0;
+        for (List<Long> part : ChunkedDeleter.partition(pollIds, PURGE_POLLS_PER_TRANSACTION)) {
+            String in = "(" + ChunkedDeleter.placeholders(part.size()) + ")";
+            Object[] args = part.toArray();
+            long[] counts = transactionTemplate.execute(status -> new long[] {
+                    jdbcTemplate.update("DELETE FROM votes WHERE poll_id IN " + in, args)
+                            + jdbcTemplate.update("DELETE FROM preference_ballots WHERE poll_id IN " + in, args),
+                    jdbcTemplate.update("DELETE FROM candidates WHERE poll_id IN " + in, args),
+                    jdbcTemplate.update("DELETE FROM poll_results WHERE poll_id IN " + in, args),
+                    jdbcTemplate.update("DELETE FROM polls WHERE id IN " + in, args)
+            });
+            votes += counts[0];
+            candidates += counts[1];
+        }
+
+        for (Long pollId : pollIds) {
+            pollLifecycleService.cancel(pollId);
+            pollMetadataCache.evict(pollId);
+            pollResultsService.evict(pollId);
+            voteTallyService.evictPoll(pollId);
+            tabulationService.evictPoll(pollId);
+            voterIndexService.evictPoll(pollId);
+        }
+        return new long[] {votes, candidates};
     }
 }
@@ -0,0 +1,241 @@
+package com.votingplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.votingplatform.dto.VoteResultDTO;
+import com.votingplatform.entity.Poll;
+import com.votingplatform.entity.PollResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes live poll results to subscribers over server-sent events. Vote
+ * changes are coalesced: every push interval each changed poll is read from
+ * the in-memory tally, or its current tabulation for ranked and approval
+ * polls, once, serialised once and fanned out to all of its subscribers, so
+ * viewers never trigger database queries. Each subscriber receives its
+ * updates in order, and the final results of a closed poll last, marked
+ * {@code "final": true}, after which the stream ends. Subscribing to a poll
+ * that has already closed gets just the stored final results.
+ */
+@Service
+public class ResultsPushService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultsPushService.class);
+
+    public static final String EVENT_NAME = "results-update";
+
+    @Autowired
+    private VoteTallyService voteTallyService;
+
+    @Autowired
+    private TabulationService tabulationService;
+
+    @Autowired
+    private PollMetadataCache pollMetadataCache;
+
+    @Autowired
+    private PollResultsService pollResultsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${results.push.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // Each send may block on a slow client, so a subscriber's sends run on a virtual thread of their own.
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** Opens a results stream, or returns empty if the poll does not exist. */
+    public Optional<SseEmitter> subscribe(Long pollId) {
+        Poll poll = pollMetadataCache.getPoll(pollId).orElse(null);
+        if (poll == null) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(pollId, emitter);
+        subscribers.compute(pollId, (id, set) -> {
+            Set<Subscriber> pollSubscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            pollSubscribers.add(subscriber);
+            return pollSubscribers;
+        });
+
+        Runnable remove = () -> unsubscribe(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        // Checked after registering, so a close that finished in between is not missed.
+        PollResult stored = poll.getStatus() == Poll.Status.COMPLETED
+                ? pollResultsService.getSnapshot(pollId).orElse(null)
+                : null;
+        String snapshot = stored != null
+                ? serialise(pollId, readResults(stored), true)
+                : serialise(pollId, currentResults(pollId), false);
+        if (snapshot != null) {
+            subscriber.offer(snapshot, stored != null);
+        }
+        return Optional.of(emitter);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Scheduled(fixedDelayString = "${results.push.interval-ms:500}")
+    public void pushChangedPolls() {
+        Set<Long> changed = new HashSet<>(voteTallyService.drainChangedPolls());
+        changed.addAll(tabulationService.drainChangedPolls());
+        for (Long pollId : changed) {
+            Set<Subscriber> pollSubscribers = subscribers.get(pollId);
+            if (pollSubscribers == null || pollSubscribers.isEmpty()) {
+                continue;
+            }
+            String payload = serialise(pollId, currentResults(pollId), false);
+            if (payload == null) {
+                continue;
+            }
+            for (Subscriber subscriber : pollSubscribers) {
+                subscriber.offer(payload, false);
+            }
+        }
+    }
+
+    /** Sends the final results of a closed poll and ends its streams. */
+    public void closePoll(Long pollId, List<VoteResultDTO> finalResults) {
+        Set<Subscriber> pollSubscribers = subscribers.remove(pollId);
+        if (pollSubscribers == null) {
+            return;
+        }
+        String payload = serialise(pollId, finalResults, true);
+        for (Subscriber subscriber : pollSubscribers) {
+            subscriber.offer(payload, true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        fanOut.shutdown();
+    }
+
+    /** Plurality tallies, or the deciding round of a ranked or approval poll's current count. */
+    private List<VoteResultDTO> currentResults(Long pollId) {
+        Poll poll = pollMetadataCache.getPoll(pollId).orElse(null);
+        if (poll == null || poll.getVotingMethod() == Poll.VotingMethod.PLURALITY) {
+            return voteTallyService.getResults(pollId);
+        }
+        return tabulationService.getResults(poll);
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.pollId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private Object readResults(PollResult stored) {
+        try {
+            return objectMapper.readTree(stored.getResults());
+        } catch (JsonProcessingException e) {
+            log.error("Stored results of poll {} are not valid JSON", stored.getPollId(), e);
+            return List.of();
+        }
+    }
+
+    private String serialise(Long pollId, Object results, boolean last) {
+        try {
+            return objectMapper.writeValueAsString(Map.of("pollId", pollId, "results", results, "final", last));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialise results for poll {}", pollId, e);
+            return null;
+        }
+    }
+
+    /**
+     * One open stream. Its payloads are sent one at a time by a single
+     * drain task; while a send is in flight only the newest waiting payload
+     * is kept, and nothing is accepted after the final results.
+     */
+    private final class Subscriber {
+
+        private final Long pollId;
+        private final SseEmitter emitter;
+        private String pending;
+        private boolean draining;
+        private boolean last;
+        private boolean completed;
+
+        Subscriber(Long pollId, SseEmitter emitter) {
+            this.pollId = pollId;
+            this.emitter = emitter;
+        }
+
+        /** Queues {@code payload}, replacing any unsent one; {@code last} ends the stream after it. */
+        synchronized void offer(String payload, boolean last) {
+            if (this.last) {
+                return;
+            }
+            pending = payload;
+            this.last = last;
+            if (!draining) {
+                draining = true;
+                fanOut.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                String payload;
+                synchronized (this) {
+                    payload = pending;
+                    pending = null;
+                    if (payload == null) {
+                        if (!last || completed) {
+                            draining = false;
+                            return;
+                        }
+                        completed = true;
+                    }
+                }
+                if (payload == null) {
+                    emitter.complete();
+                } else {
+                    send(payload);
+                }
+            }
+        }
+
+        private void send(String payload) {
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).data(payload, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                synchronized (this) {
+                    pending = null;
+                    last = true;
+                    completed = true;
+                }
+                unsubscribe(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.votingplatform.service;
+
+/**
+ * Thrown when a bounded resource (queue, worker pool) is saturated and the
+ * caller should retry later. Controllers map it to 503 with Retry-After.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
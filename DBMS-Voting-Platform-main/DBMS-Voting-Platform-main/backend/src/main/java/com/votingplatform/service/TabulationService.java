@@ -0,0 +1,203 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.TabulationResultDTO;
+import com.votingplatform.dto.TabulationRoundDTO;
+import com.votingplatform.dto.VoteResultDTO;
+import com.votingplatform.entity.Candidate;
+import com.votingplatform.entity.Poll;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Results of ranked and approval polls. Each poll's ballots are held in
+ * {@link BallotColumns}, seeded from the database on startup and appended as
+ * ballots are cast, and counted by {@link Tabulator} on a dedicated
+ * fork-join pool. A tabulation is reused until the poll gets another ballot
+ * or candidate. When a poll closes its ballots are re-read once and frozen,
+ * like the plurality tallies in {@link VoteTallyService}.
+ */
+@Service
+public class TabulationService {
+
+    private static final String SELECT_ALL_SQL = "SELECT poll_id, choices FROM preference_ballots ORDER BY id";
+    private static final String SELECT_POLL_SQL = "SELECT choices FROM preference_ballots WHERE poll_id = ? ORDER BY id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PollMetadataCache pollMetadataCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private VoteWriteLock voteWriteLock;
+
+    @Value("${voting.tabulation.parallelism:0}")
+    private int parallelism;
+
+    @Value("${voting.tabulation.split-threshold:65536}")
+    private int splitThreshold;
+
+    private volatile Map<Long, PollBallots> ballots = new ConcurrentHashMap<>();
+    private final Set<Long> changedPolls = ConcurrentHashMap.newKeySet();
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void start() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        rebuild();
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Reloads every poll's ballots. Ballot writes wait while it runs (see
+     * {@link VoteWriteLock}); closed polls stay frozen.
+     */
+    public void rebuild() {
+        Lock rebuilding = voteWriteLock.rebuilding();
+        rebuilding.lock();
+        try {
+            Map<Long, PollBallots> rebuilt = new ConcurrentHashMap<>();
+            jdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+                rebuilt.computeIfAbsent(rs.getLong(1), id -> new PollBallots())
+                        .columns.append(BallotColumns.unpack(rs.getBytes(2)));
+            });
+            ballots.forEach((pollId, pollBallots) -> {
+                if (pollBallots.frozen) {
+                    rebuilt.computeIfAbsent(pollId, id -> new PollBallots()).frozen = true;
+                }
+            });
+            ballots = rebuilt;
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    /**
+     * Adds a ballot that was just stored; {@code ranking} holds candidate ids.
+     * Called under {@link VoteWriteLock#recording()}.
+     */
+    public void recordBallot(Long pollId, long[] ranking) {
+        PollBallots pollBallots = ballots.computeIfAbsent(pollId, id -> new PollBallots());
+        if (!pollBallots.frozen) {
+            pollBallots.columns.append(ranking);
+            changedPolls.add(pollId);
+        }
+    }
+
+    /**
+     * Replaces a closed poll's ballots with those in the database and counts
+     * them; later ballots no longer change its results.
+     */
+    public TabulationResultDTO freeze(Poll poll) {
+        PollBallots frozen = new PollBallots();
+        Lock recording = voteWriteLock.recording();
+        recording.lock();
+        try {
+            jdbcTemplate.query(SELECT_POLL_SQL, rs -> {
+                frozen.columns.append(BallotColumns.unpack(rs.getBytes(1)));
+            }, poll.getId());
+            frozen.frozen = true;
+            ballots.put(poll.getId(), frozen);
+        } finally {
+            recording.unlock();
+        }
+        changedPolls.remove(poll.getId());
+        return tabulate(poll);
+    }
+
+    public TabulationResultDTO tabulate(Poll poll) {
+        PollBallots pollBallots = ballots.computeIfAbsent(poll.getId(), id -> new PollBallots());
+        List<Candidate> candidates = pollMetadataCache.getCandidates(poll.getId());
+        BallotColumns.Snapshot snapshot = pollBallots.columns.snapshot(candidates.stream().map(Candidate::getId).toList());
+
+        Tabulation cached = pollBallots.tabulation;
+        // Keyed on the candidate ids counted, not just how many there are.
+        if (cached != null && cached.ballots == snapshot.count() && Arrays.equals(cached.candidateIds, snapshot.candidateIds())) {
+            return cached.result;
+        }
+        Tabulator.Result counted = meterRegistry.timer("voting.tabulation", "method", poll.getVotingMethod().name())
+                .record(() -> poll.getVotingMethod() == Poll.VotingMethod.RANKED
+                        ? Tabulator.instantRunoff(snapshot, pool, splitThreshold)
+                        : Tabulator.approval(snapshot, pool, splitThreshold));
+        TabulationResultDTO result = toResult(poll, snapshot, counted, candidates);
+        pollBallots.tabulation = new Tabulation(snapshot.count(), snapshot.candidateIds(), result);
+        return result;
+    }
+
+    /** Counts of the deciding round, in the shape the plurality results use. */
+    public List<VoteResultDTO> getResults(Poll poll) {
+        List<TabulationRoundDTO> rounds = tabulate(poll).getRounds();
+        return rounds.get(rounds.size() - 1).getTallies();
+    }
+
+    public void evictPoll(Long pollId) {
+        ballots.remove(pollId);
+        changedPolls.remove(pollId);
+    }
+
+    /** Returns the polls that got ballots since the previous call. */
+    public Set<Long> drainChangedPolls() {
+        Set<Long> drained = new HashSet<>();
+        Iterator<Long> it = changedPolls.iterator();
+        while (it.hasNext()) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    private static TabulationResultDTO toResult(Poll poll, BallotColumns.Snapshot snapshot,
+                                                Tabulator.Result counted, List<Candidate> candidates) {
+        Map<Long, String> names = new HashMap<>();
+        candidates.forEach(candidate -> names.put(candidate.getId(), candidate.getName()));
+        long[] candidateIds = snapshot.candidateIds();
+
+        List<TabulationRoundDTO> rounds = new ArrayList<>(counted.rounds().size());
+        for (Tabulator.Round round : counted.rounds()) {
+            List<VoteResultDTO> tallies = new ArrayList<>();
+            for (int c = 0; c < candidateIds.length; c++) {
+                if (round.standing()[c]) {
+                    tallies.add(new VoteResultDTO(candidateIds[c], names.get(candidateIds[c]), round.counts()[c]));
+                }
+            }
+            Long eliminated = round.eliminated() >= 0 ? candidateIds[round.eliminated()] : null;
+            rounds.add(new TabulationRoundDTO(rounds.size() + 1, tallies, eliminated, round.exhausted()));
+        }
+        Long winner = counted.winner() >= 0 ? candidateIds[counted.winner()] : null;
+        return new TabulationResultDTO(poll.getId(), poll.getVotingMethod().name(), snapshot.count(), winner, rounds);
+    }
+
+    private static final class PollBallots {
+
+        private final BallotColumns columns = new BallotColumns();
+        private volatile boolean frozen;
+        private volatile Tabulation tabulation;
+    }
+
+    private record Tabulation(int ballots, long[] candidateIds, TabulationResultDTO result) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.votingplatform.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts ranked and approval ballots. Each pass over the ballots is split
+ * into ranges on a fork-join pool and the per-range counts are summed, so a
+ * round over millions of ballots uses every core.
+ */
+final class Tabulator {
+
+    private Tabulator() {
+    }
+
+    /**
+     * Instant-runoff: each round counts every ballot for its highest-ranked
+     * candidate still standing and eliminates the last one, until someone
+     * holds a majority of the ballots still counting. Ties for last place go
+     * against the candidate who was behind in the most recent earlier round
+     * where they differed, then against the higher candidate id.
+     */
+    static Result instantRunoff(BallotColumns.Snapshot ballots, ForkJoinPool pool, int splitThreshold) {
+        int width = ballots.candidateIds().length;
+        boolean[] standing = new boolean[width];
+        Arrays.fill(standing, true);
+        int remaining = width;
+        List<Round> rounds = new ArrayList<>();
+        while (true) {
+            long[] counts = pool.invoke(new CountTask(ballots, standing.clone(), false, 0, ballots.count(), splitThreshold));
+            long exhausted = counts[width];
+            long continuing = ballots.count() - exhausted;
+
+            int leader = -1;
+            for (int c = 0; c < width; c++) {
+                if (standing[c] && (leader < 0 || counts[c] > counts[leader])) {
+                    leader = c;
+                }
+            }
+            if (leader < 0 || remaining == 1 || continuing == 0 || counts[leader] * 2 > continuing) {
+                rounds.add(new Round(counts, standing.clone(), -1, exhausted));
+                return new Result(rounds, leader >= 0 && counts[leader] > 0 ? leader : -1);
+            }
+
+            int last = lastPlace(counts, standing, rounds, ballots.candidateIds());
+            rounds.add(new Round(counts, standing.clone(), last, exhausted));
+            standing[last] = false;
+            remaining--;
+        }
+    }
+
+    /** Approval: one round in which every approved candidate gets a vote. */
+    static Result approval(BallotColumns.Snapshot ballots, ForkJoinPool pool, int splitThreshold) {
+        int width = ballots.candidateIds().length;
+        boolean[] standing = new boolean[width];
+        Arrays.fill(standing, true);
+        long[] counts = pool.invoke(new CountTask(ballots, standing, true, 0, ballots.count(), splitThreshold));
+        int leader = -1;
+        for (int c = 0; c < width; c++) {
+            if (counts[c] > 0 && (leader < 0 || counts[c] > counts[leader])) {
+                leader = c;
+            }
+        }
+        return new Result(List.of(new Round(counts, standing, -1, counts[width])), leader);
+    }
+
+    private static int lastPlace(long[] counts, boolean[] standing, List<Round> earlier, long[] candidateIds) {
+        int last = -1;
+        for (int c = 0; c < standing.length; c++) {
+            if (!standing[c]) {
+                continue;
+            }
+            if (last < 0 || counts[c] < counts[last]
+                    || (counts[c] == counts[last] && behindEarlier(c, last, earlier, candidateIds))) {
+                last = c;
+            }
+        }
+        return last;
+    }
+
+    private static boolean behindEarlier(int candidate, int other, List<Round> earlier, long[] candidateIds) {
+        for (int r = earlier.size() - 1; r >= 0; r--) {
+            long[] counts = earlier.get(r).counts();
+            if (counts[candidate] != counts[other]) {
+                return counts[candidate] < counts[other];
+            }
+        }
+        return candidateIds[candidate] > candidateIds[other];
+    }
+
+    /**
+     * One round of counts: {@code counts[c]} per candidate index and the
+     * exhausted (IRV) or blank (approval) ballots in the last slot.
+     * {@code standing} is the field before this round's elimination.
+     */
+    record Round(long[] counts, boolean[] standing, int eliminated, long exhausted) {
+    }
+
+    /** Rounds in order and the winning candidate index, or -1 if there were no votes. */
+    record Result(List<Round> rounds, int winner) {
+    }
+
+    private static final class CountTask extends RecursiveTask<long[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient BallotColumns.Snapshot ballots;
+        private final boolean[] standing;
+        private final boolean approval;
+        private final int from;
+        private final int to;
+        private final int splitThreshold;
+
+        CountTask(BallotColumns.Snapshot ballots, boolean[] standing, boolean approval,
+                  int from, int to, int splitThreshold) {
+            this.ballots = ballots;
+            this.standing = standing;
+            this.approval = approval;
+            this.from = from;
+            this.to = to;
+            this.splitThreshold = splitThreshold;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= splitThreshold) {
+                return approval ? countApprovals() : countFirstPreferences();
+            }
+            int middle = (from + to) >>> 1;
+            CountTask left = new CountTask(ballots, standing, approval, from, middle, splitThreshold);
+            left.fork();
+            long[] right = new CountTask(ballots, standing, approval, middle, to, splitThreshold).compute();
+            long[] counts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += right[i];
+            }
+            return counts;
+        }
+
+        private long[] countFirstPreferences() {
+            int[] offsets = ballots.offsets();
+            int[] choices = ballots.choices();
+            long[] counts = new long[standing.length + 1];
+            for (int b = from; b < to; b++) {
+                int pick = standing.length;
+                for (int i = offsets[b], end = offsets[b + 1]; i < end; i++) {
+                    if (standing[choices[i]]) {
+                        pick = choices[i];
+                        break;
+                    }
+                }
+                counts[pick]++;
+            }
+            return counts;
+        }
+
+        private long[] countApprovals() {
+            int[] offsets = ballots.offsets();
+            int[] choices = ballots.choices();
+            long[] counts = new long[standing.length + 1];
+            for (int b = from; b < to; b++) {
+                int start = offsets[b];
+                int end = offsets[b + 1];
+                if (start == end) {
+                    counts[standing.length]++;
+                }
+                for (int i = start; i < end; i++) {
+                    counts[choices[i]]++;
+                }
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.VoteReceiptDTO;
+import com.votingplatform.entity.Candidate;
+import com.votingplatform.entity.Poll;
+import com.votingplatform.entity.User;
+import com.votingplatform.entity.Vote;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Write-behind vote ingestion. Accepted votes are placed on a bounded queue
+ * and a single writer thread inserts them in JDBC batches, flushing whenever
+ * a batch fills up or the flush interval elapses.
+ *
+ * Durability is controlled by {@code voting.ingestion.durability}:
+ * ACCEPTED answers as soon as the vote is queued, FLUSHED waits until the
+ * batch holding it has been committed.
+ *
+ * No batch is written while the ledger refuses entries. Votes stored just
+ * before it stopped taking them are held and their CAST entries appended
+ * ahead of the next batch.
+ */
+@Service
+public class VoteIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteIngestionService.class);
+
+    // A vote accepted before its poll ended is written even if the poll has closed since: closing waits for the
+    // queue to settle before freezing the tally. Votes accepted at or after the end date are refused here.
+    private static final String INSERT_VOTE_SQL =
+            "INSERT INTO votes (poll_id, candidate_id, user_id, voted_at, ip_address, receipt_id) " +
+            "SELECT ?, ?, ?, ?, ?, ? FROM polls WHERE id = ? AND end_date > ?";
+    private static final String FIND_RECEIPT_SQL =
+            "SELECT poll_id, candidate_id, voted_at FROM votes WHERE receipt_id = ? AND user_id = ?";
+
+    public enum Mode {
+        DIRECT,
+        WRITE_BEHIND
+    }
+
+    public enum Durability {
+        ACCEPTED,
+        FLUSHED
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private VoteWriteLock voteWriteLock;
+
+    @Autowired
+    private VoteTallyService voteTallyService;
+
+    @Autowired
+    private VoterIndexService voterIndexService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.ingestion.mode:DIRECT}")
+    private Mode mode;
+
+    @Value("${voting.ingestion.durability:ACCEPTED}")
+    private Durability durability;
+
+    @Value("${voting.ingestion.queue-capacity:50000}")
+    private int queueCapacity;
+
+    @Value("${voting.ingestion.batch-size:500}")
+    private int batchSize;
+
+    @Value("${voting.ingestion.flush-interval-ms:20}")
+    private long flushIntervalMs;
+
+    @Value("${voting.ingestion.enqueue-timeout-ms:50}")
+    private long enqueueTimeoutMs;
+
+    @Value("${voting.ingestion.flush-wait-timeout-ms:5000}")
+    private long flushWaitTimeoutMs;
+
+    private BlockingQueue<PendingVote> queue;
+    private Thread writer;
+    private volatile boolean running;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong settled = new AtomicLong();
+    // Queued votes by receipt id, until they are written or rejected.
+    private final Map<String, PendingVote> unsettled = new ConcurrentHashMap<>();
+    // Stored votes whose CAST entries the ledger refused, appended before the next batch. Writer thread only.
+    private final List<Vote> unrecorded = new ArrayList<>();
+    private Timer flushTimer;
+    private Counter duplicateInserts;
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("voting.ingestion.queue.depth", this, VoteIngestionService::getQueueDepth)
+                .register(meterRegistry);
+        Gauge.builder("voting.ingestion.unsettled", this, service -> service.accepted.get() - service.settled.get())
+                .description("Accepted votes not yet written or rejected")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("voting.ingestion.flush").register(meterRegistry);
+        duplicateInserts = meterRegistry.counter(VoteService.DUPLICATE_VOTES, "stage", "insert");
+        if (!isEnabled()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::drainLoop, "vote-ingestion-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Write-behind vote ingestion enabled (batch={}, interval={}ms, capacity={}, durability={})",
+                batchSize, flushIntervalMs, queueCapacity, durability);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        if (!unrecorded.isEmpty()) {
+            log.error("Stopped with {} stored votes missing their ledger entries, receipts {}", unrecorded.size(),
+                    unrecorded.stream().map(Vote::getReceiptId).toList());
+        }
+    }
+
+    public boolean isEnabled() {
+        return mode == Mode.WRITE_BEHIND;
+    }
+
+    /**
+     * Queues a vote whose voter claim has already been taken in
+     * {@link VoterIndexService}. Once queued, the writer gives the claim
+     * back if the row cannot be written; if this throws, the vote was not
+     * queued and the caller still owns the claim.
+     *
+     * @return the queued vote, to pass to {@link #awaitDurability}
+     * @throws ServiceBusyException if the queue stayed full
+     */
+    public PendingVote submit(Poll poll, Candidate candidate, User user, String ipAddress) {
+        PendingVote pending = new PendingVote(UUID.randomUUID().toString(), poll, candidate, user,
+                ipAddress, LocalDateTime.now());
+        accepted.incrementAndGet();
+        unsettled.put(pending.receiptId, pending);
+        pending.flushed.whenComplete((ignored, error) -> {
+            unsettled.remove(pending.receiptId);
+            settled.incrementAndGet();
+        });
+        boolean queued = false;
+        try {
+            queued = queue.offer(pending, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Vote submission interrupted", 1);
+        } finally {
+            if (!queued) {
+                pending.flushed.cancel(false);
+            }
+        }
+        if (!queued) {
+            throw new ServiceBusyException("Vote queue is full, please retry shortly", 1);
+        }
+        return pending;
+    }
+
+    /**
+     * The receipt for a queued vote. With FLUSHED durability this waits for
+     * the writer: RECORDED once the row is stored, or still QUEUED if the
+     * wait times out, in which case the vote stays queued and can be looked
+     * up by its receipt. Throws if the writer rejected the vote.
+     */
+    public VoteReceiptDTO awaitDurability(PendingVote pending) {
+        if (durability != Durability.FLUSHED) {
+            return pending.receipt("QUEUED");
+        }
+        try {
+            pending.flushed.get(flushWaitTimeoutMs, TimeUnit.MILLISECONDS);
+            return pending.receipt("RECORDED");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+        } catch (TimeoutException e) {
+            return pending.receipt("QUEUED");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return pending.receipt("QUEUED");
+        }
+    }
+
+    /**
+     * Looks up one of the voter's receipts: QUEUED while the vote waits for
+     * the writer, RECORDED once its row is stored. Empty if the receipt is
+     * unknown, belongs to someone else, or its vote was rejected.
+     */
+    public Optional<VoteReceiptDTO> findReceipt(String receiptId, Long userId) {
+        PendingVote pending = unsettled.get(receiptId);
+        if (pending != null && pending.user.getId().equals(userId)) {
+            return Optional.of(pending.receipt("QUEUED"));
+        }
+        return jdbcTemplate.query(FIND_RECEIPT_SQL, (rs, row) -> new VoteReceiptDTO(receiptId, rs.getLong(1),
+                rs.getLong(2), "RECORDED", rs.getTimestamp(3).toLocalDateTime()), receiptId, userId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Waits until every vote queued before this call has been written or
+     * rejected. Used when a poll closes so its final tally includes them.
+     *
+     * @return false if the writer did not catch up within the timeout
+     */
+    public boolean awaitSettled(long timeoutMs) {
+        if (!isEnabled()) {
+            return true;
+        }
+        long target = accepted.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        try {
+            while (settled.get() < target) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                Thread.sleep(flushIntervalMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue == null ? 0 : queueCapacity;
+    }
+
+    private void drainLoop() {
+        List<PendingVote> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingVote first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingVote next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flushTimer.record(() -> flush(batch));
+            } catch (InterruptedException e) {
+                running = false;
+                flush(batch);
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure in vote writer", e);
+                for (PendingVote vote : batch) {
+                    if (vote.inserted) {
+                        // The row is committed; the voter has voted whatever failed after it.
+                        vote.flushed.complete(null);
+                    } else {
+                        reject(vote, e);
+                    }
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingVote> batch) {
+        if (!awaitLedger()) {
+            ServiceBusyException unavailable =
+                    new ServiceBusyException("The audit ledger is unavailable, please retry shortly", 5);
+            batch.forEach(vote -> reject(vote, unavailable));
+            return;
+        }
+
+        List<Vote> stored = new ArrayList<>(batch.size());
+        // Inserted and recorded in the tallies under one hold, so an index rebuild sees each vote once.
+        Lock recording = voteWriteLock.recording();
+        recording.lock();
+        try {
+            int[][] counts = null;
+            try {
+                counts = transactionTemplate.execute(status ->
+                        jdbcTemplate.batchUpdate(INSERT_VOTE_SQL, batch, batch.size(), (ps, vote) -> bind(ps, vote)));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Batch insert of {} votes failed, retrying row by row: {}", batch.size(), e.getMessage());
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                PendingVote vote = batch.get(i);
+                boolean inserted = counts != null ? counts[0][i] != 0 : insertRow(vote);
+                if (inserted) {
+                    vote.inserted = true;
+                    voteTallyService.recordVote(vote.poll.getId(), vote.candidate.getId(), vote.candidate.getName());
+                    stored.add(vote.toVote());
+                } else if (!vote.flushed.isDone()) {
+                    reject(vote, new RuntimeException("Poll is not open for voting"));
+                }
+            }
+        } finally {
+            recording.unlock();
+        }
+
+        recordInLedger(stored);
+        for (PendingVote vote : batch) {
+            if (vote.inserted) {
+                vote.flushed.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Inserts one vote on its own after its batch failed.
+     *
+     * @return false if it was not stored; the vote has been failed already
+     *         unless it was refused because its poll had closed
+     */
+    private boolean insertRow(PendingVote vote) {
+        try {
+            return jdbcTemplate.update(INSERT_VOTE_SQL, ps -> bind(ps, vote)) != 0;
+        } catch (DuplicateKeyException duplicate) {
+            // The voter's vote is already stored; keep the claim.
+            duplicateInserts.increment();
+            vote.flushed.completeExceptionally(new RuntimeException("You have already voted in this poll"));
+        } catch (DataAccessException rowFailure) {
+            reject(vote, new RuntimeException("Vote could not be recorded: " + rowFailure.getMostSpecificCause().getMessage()));
+        }
+        return false;
+    }
+
+    /**
+     * Waits until the ledger takes entries again and appends the votes it
+     * refused earlier, so rows are only written while their entries can be.
+     *
+     * @return false if the writer is stopping with the ledger still unavailable
+     */
+    private boolean awaitLedger() {
+        long backoffMs = Math.max(flushIntervalMs, 10);
+        while (true) {
+            try {
+                ledgerService.checkWritable();
+                if (!unrecorded.isEmpty()) {
+                    ledgerService.recordVotesCast(unrecorded);
+                    log.info("Appended {} vote ledger entries held back while the ledger was unavailable", unrecorded.size());
+                    unrecorded.clear();
+                }
+                return true;
+            } catch (ServiceBusyException e) {
+                if (!running) {
+                    return false;
+                }
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    running = false;
+                    return false;
+                }
+                backoffMs = Math.min(backoffMs * 2, 1000);
+            }
+        }
+    }
+
+    /**
+     * Appends CAST entries for stored votes. If the ledger stopped taking
+     * entries since {@link #awaitLedger()}, the votes are held and appended
+     * before the next batch is written.
+     */
+    private void recordInLedger(List<Vote> stored) {
+        if (stored.isEmpty()) {
+            return;
+        }
+        try {
+            ledgerService.recordVotesCast(stored);
+        } catch (RuntimeException e) {
+            log.warn("Ledger refused {} vote entries, holding them for replay: {}", stored.size(), e.getMessage());
+            unrecorded.addAll(stored);
+        }
+    }
+
+    private void bind(PreparedStatement ps, PendingVote vote) throws SQLException {
+        ps.setLong(1, vote.poll.getId());
+        ps.setLong(2, vote.candidate.getId());
+        ps.setLong(3, vote.user.getId());
+        ps.setTimestamp(4, Timestamp.valueOf(vote.acceptedAt));
+        ps.setString(5, vote.ipAddress);
+        ps.setString(6, vote.receiptId);
+        ps.setLong(7, vote.poll.getId());
+        ps.setTimestamp(8, Timestamp.valueOf(vote.acceptedAt));
+    }
+
+    /** Fails a vote that was not stored and gives its voter claim back. */
+    private void reject(PendingVote vote, Throwable reason) {
+        voterIndexService.release(vote.poll.getId(), vote.user.getId());
+        vote.flushed.completeExceptionally(reason);
+    }
+
+    /** A vote on the queue; opaque outside this service. */
+    public static final class PendingVote {
+
+        private final String receiptId;
+        private final Poll poll;
+        private final Candidate candidate;
+        private final User user;
+        private final String ipAddress;
+        private final LocalDateTime acceptedAt;
+        private final CompletableFuture<Void> flushed = new CompletableFuture<>();
+        // Set by the writer once the row is committed.
+        private boolean inserted;
+
+        private PendingVote(String receiptId, Poll poll, Candidate candidate, User user,
+                            String ipAddress, LocalDateTime acceptedAt) {
+            this.receiptId = receiptId;
+            this.poll = poll;
+            this.candidate = candidate;
+            this.user = user;
+            this.ipAddress = ipAddress;
+            this.acceptedAt = acceptedAt;
+        }
+
+        private VoteReceiptDTO receipt(String status) {
+            return new VoteReceiptDTO(receiptId, poll.getId(), candidate.getId(), status, acceptedAt);
+        }
+
+        private Vote toVote() {
+            Vote vote = new Vote();
+            vote.setPoll(poll);
+            vote.setCandidate(candidate);
+            vote.setUser(user);
+            vote.setIpAddress(ipAddress);
+            vote.setVotedAt(acceptedAt);
+            vote.setReceiptId(receiptId);
+            return vote;
+        }
+    }
+}
@@ -1,34 +1,80 @@
 package com.votingplatform.service;
 
+import com.votingplatform.dto.BallotCastRequest;
+import com.votingplatform.dto.BallotOutcomeDTO;
+import com.votingplatform.dto.BallotReceiptDTO;
+import com.votingplatform.dto.BallotRequest;
+import com.votingplatform.dto.PreferenceVoteRequest;
+import com.votingplatform.dto.TabulationResultDTO;
+import com.votingplatform.dto.VoteReceiptDTO;
 import com.votingplatform.dto.VoteRequest;
 import com.votingplatform.dto.VoteResultDTO;
 import com.votingplatform.entity.Candidate;
 import com.votingplatform.entity.Poll;
+import com.votingplatform.entity.PollResult;
 import com.votingplatform.entity.User;
 import com.votingplatform.entity.Vote;
-import com.votingplatform.repository.CandidateRepository;
-import com.votingplatform.repository.PollRepository;
 import com.votingplatform.repository.UserRepository;
 import com.votingplatform.repository.VoteRepository;
+import com.votingplatform.security.CurrentUser;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("voting.service")
 public class VoteService {
 
+    static final String DUPLICATE_VOTES = "voting.votes.duplicate";
+
+    // Rows are only inserted while their poll is open, checked in the INSERT itself: the cached status can be
+    // stale by the time the row is written, and a poll's results are frozen from the table once it closes.
+    // On MySQL the read also share-locks the poll row, so the status flip waits for inserts in flight.
+    private static final String OPEN_POLL = " FROM polls WHERE id = ? AND status = 'ACTIVE' AND end_date > ?";
+    private static final String INSERT_VOTE_COLUMNS =
+            "INSERT INTO votes (poll_id, candidate_id, user_id, voted_at, ip_address) ";
+    private static final String VOTE_ROW = "SELECT ?, ?, ?, ?, ?" + OPEN_POLL;
+    private static final String INSERT_PREFERENCE_BALLOT =
+            "INSERT INTO preference_ballots (poll_id, user_id, choices, voted_at, ip_address) SELECT ?, ?, ?, ?, ?" + OPEN_POLL;
+    private static final String POLL_CLOSED = "Poll is not open for voting";
+    // The choices column holds 4 bytes per candidate.
+    private static final int MAX_PREFERENCES = 256;
+
     @Autowired
     private VoteRepository voteRepository;
 
     @Autowired
-    private PollRepository pollRepository;
+    private PollMetadataCache pollMetadataCache;
 
     @Autowired
-    private CandidateRepository candidateRepository;
+    private PollResultsService pollResultsService;
 
     @Autowired
     private UserRepository userRepository;
@@ -36,57 +82,509 @@ public class VoteService {
     @Autowired
     private LedgerService ledgerService;
 
-    public Vote castVote(VoteRequest request, HttpServletRequest httpRequest) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Autowired
+    private VoteTallyService voteTallyService;
 
-        // Check if user already voted
-        if (voteRepository.existsByPollIdAndUserId(request.getPollId(), user.getId())) {
-            throw new RuntimeException("You have already voted in this poll");
-        }
+    @Autowired
+    private VoteIngestionService voteIngestionService;
 
-        Poll poll = pollRepository.findById(request.getPollId())
-                .orElseThrow(() -> new RuntimeException("Poll not found"));
+    @Autowired
+    private VoterIndexService voterIndexService;
 
-        Candidate candidate = candidateRepository.findById(request.getCandidateId())
-                .orElseThrow(() -> new RuntimeException("Candidate not found"));
+    @Autowired
+    private TabulationService tabulationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private VoteWriteLock voteWriteLock;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.votes.batch-max-size:1000}")
+    private int batchMaxSize;
+
+    @Value("${voting.votes.ballot-max-choices:50}")
+    private int ballotMaxChoices;
 
+    // Rejected repeat votes: caught by the in-memory claim, or by the unique key if the claim was missing.
+    private Counter duplicateClaims;
+    private Counter duplicateInserts;
+    private Counter batchRecorded;
+    private Counter batchRejected;
+
+    @PostConstruct
+    public void registerMetrics() {
+        duplicateClaims = meterRegistry.counter(DUPLICATE_VOTES, "stage", "claim");
+        duplicateInserts = meterRegistry.counter(DUPLICATE_VOTES, "stage", "insert");
+        batchRecorded = meterRegistry.counter("voting.votes.batch.ballots", "outcome", "recorded");
+        batchRejected = meterRegistry.counter("voting.votes.batch.ballots", "outcome", "rejected");
+    }
+
+    public Vote castVote(VoteRequest request, HttpServletRequest httpRequest) {
+        ledgerService.checkWritable();
+        User user = getCurrentUser();
+        Poll poll = getPoll(request.getPollId());
+        Candidate candidate = getCandidate(request.getCandidateId(), poll);
         Vote vote = new Vote();
         vote.setPoll(poll);
         vote.setCandidate(candidate);
         vote.setUser(user);
         vote.setIpAddress(getClientIp(httpRequest));
+        vote.setVotedAt(LocalDateTime.now());
 
-        Vote savedVote = voteRepository.save(vote);
-        ledgerService.recordVoteCast(savedVote);
-        return savedVote;
+        Lock recording = voteWriteLock.recording();
+        recording.lock();
+        try {
+            claimVote(poll.getId(), user);
+
+            try {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                int stored = jdbcTemplate.update(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(INSERT_VOTE_COLUMNS + VOTE_ROW, new String[] {"id"});
+                    bindVote(ps, 1, vote);
+                    return ps;
+                }, keyHolder);
+                if (stored == 0) {
+                    throw new RuntimeException(POLL_CLOSED);
+                }
+                vote.setId(keyHolder.getKey().longValue());
+            } catch (DuplicateKeyException e) {
+                // uk_votes_poll_user: the vote is already stored; keep the claim.
+                duplicateInserts.increment();
+                throw new RuntimeException("You have already voted in this poll");
+            } catch (RuntimeException e) {
+                voterIndexService.release(poll.getId(), user.getId());
+                throw e;
+            }
+            voteTallyService.recordVote(poll.getId(), candidate.getId(), candidate.getName());
+        } finally {
+            recording.unlock();
+        }
+        ledgerService.recordVoteCast(vote);
+        return vote;
     }
 
-    public boolean hasUserVoted(Long pollId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Casts a ballot in a ranked or approval poll. The candidate ids are
+     * stored packed in one row and added to the poll's in-memory ballots for
+     * tabulation. These ballots are always written directly, also in
+     * write-behind mode.
+     */
+    public Map<String, Object> castPreferenceVote(PreferenceVoteRequest request, HttpServletRequest httpRequest) {
+        List<Long> candidateIds = request.getCandidateIds();
+        if (request.getPollId() == null || candidateIds == null || candidateIds.isEmpty()) {
+            throw new RuntimeException("Poll and at least one candidate are required");
+        }
+        if (candidateIds.size() > MAX_PREFERENCES) {
+            throw new RuntimeException("A ballot may list at most " + MAX_PREFERENCES + " candidates");
+        }
+        ledgerService.checkWritable();
+        User user = getCurrentUser();
+        Poll poll = getPreferencePoll(request.getPollId());
+        long[] ranking = new long[candidateIds.size()];
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < ranking.length; i++) {
+            Long candidateId = candidateIds.get(i);
+            if (candidateId == null) {
+                throw new RuntimeException("Candidate not found");
+            }
+            if (!seen.add(candidateId)) {
+                throw new RuntimeException("Candidate " + candidateId + " is listed more than once");
+            }
+            ranking[i] = getCandidate(candidateId, poll).getId();
+        }
+        String ipAddress = getClientIp(httpRequest);
+        LocalDateTime votedAt = LocalDateTime.now();
+
+        Lock recording = voteWriteLock.recording();
+        recording.lock();
+        try {
+            claimVote(poll.getId(), user);
+            try {
+                int stored = jdbcTemplate.update(INSERT_PREFERENCE_BALLOT, poll.getId(), user.getId(),
+                        BallotColumns.pack(ranking), Timestamp.valueOf(votedAt), ipAddress, poll.getId(), Timestamp.valueOf(votedAt));
+                if (stored == 0) {
+                    throw new RuntimeException(POLL_CLOSED);
+                }
+            } catch (DuplicateKeyException e) {
+                // uk_preference_ballots_poll_user: the ballot is already stored; keep the claim.
+                duplicateInserts.increment();
+                throw new RuntimeException("You have already voted in this poll");
+            } catch (RuntimeException e) {
+                voterIndexService.release(poll.getId(), user.getId());
+                throw e;
+            }
+            tabulationService.recordBallot(poll.getId(), ranking);
+        } finally {
+            recording.unlock();
+        }
+        ledgerService.recordPreferenceVoteCast(poll, user.getId(), candidateIds, ipAddress);
+        return Map.of(
+                "pollId", poll.getId(),
+                "votingMethod", poll.getVotingMethod(),
+                "candidateIds", candidateIds,
+                "votedAt", votedAt
+        );
+    }
+
+    public boolean isWriteBehind() {
+        return voteIngestionService.isEnabled();
+    }
+
+    public Map<String, Object> getIngestionStatus() {
+        return Map.of(
+                "writeBehind", voteIngestionService.isEnabled(),
+                "queueDepth", voteIngestionService.getQueueDepth(),
+                "queueCapacity", voteIngestionService.getQueueCapacity()
+        );
+    }
+
+    public VoteReceiptDTO submitVote(VoteRequest request, HttpServletRequest httpRequest) {
+        ledgerService.checkWritable();
+        User user = getCurrentUser();
+        Poll poll = getPoll(request.getPollId());
+        Candidate candidate = getCandidate(request.getCandidateId(), poll);
+        VoteIngestionService.PendingVote pending;
+        Lock recording = voteWriteLock.recording();
+        recording.lock();
+        try {
+            claimVote(poll.getId(), user);
+            try {
+                pending = voteIngestionService.submit(poll, candidate, user, getClientIp(httpRequest));
+            } catch (ServiceBusyException e) {
+                // Not queued: nothing will be written for this claim.
+                voterIndexService.release(poll.getId(), user.getId());
+                throw e;
+            }
+        } finally {
+            recording.unlock();
+        }
+        // Waited for outside the hold: the writer needs it to flush, and a rebuild waiting for it would
+        // otherwise stall the writer behind this thread. From here the writer owns the claim.
+        return voteIngestionService.awaitDurability(pending);
+    }
+
+    /**
+     * Casts the caller's choices in several polls as one ballot: one claim
+     * over all the polls, one multi-row INSERT and one ledger entry whose
+     * data hash is the Merkle root of the choices. Either every choice is
+     * stored or none is.
+     */
+    public BallotReceiptDTO castBallot(BallotCastRequest request, HttpServletRequest httpRequest) {
+        List<VoteRequest> choices = request.getChoices();
+        if (choices == null || choices.isEmpty()) {
+            throw new RuntimeException("The ballot contains no choices");
+        }
+        if (choices.size() > ballotMaxChoices) {
+            throw new RuntimeException("A ballot may contain at most " + ballotMaxChoices + " choices");
+        }
+
+        ledgerService.checkWritable();
+        User user = getCurrentUser();
+        String ipAddress = getClientIp(httpRequest);
+        LocalDateTime castAt = LocalDateTime.now();
+        List<Vote> votes = new ArrayList<>(choices.size());
+        List<Long> pollIds = new ArrayList<>(choices.size());
+        for (VoteRequest choice : choices) {
+            if (choice.getPollId() == null || choice.getCandidateId() == null) {
+                throw new RuntimeException("Poll and candidate are required");
+            }
+            Poll poll = getPoll(choice.getPollId());
+            if (pollIds.contains(poll.getId())) {
+                throw new RuntimeException("Poll " + poll.getId() + " appears more than once on the ballot");
+            }
+            Vote vote = new Vote();
+            vote.setPoll(poll);
+            vote.setCandidate(getCandidate(choice.getCandidateId(), poll));
+            vote.setUser(user);
+            vote.setIpAddress(ipAddress);
+            vote.setVotedAt(castAt);
+            votes.add(vote);
+            pollIds.add(poll.getId());
+        }
+
+        Lock recording = voteWriteLock.recording();
+        recording.lock();
+        try {
+            if (!voterIndexService.tryClaimAll(pollIds, user.getId())) {
+                duplicateClaims.increment();
+                throw new RuntimeException("You have already voted in one of these polls");
+            }
+            try {
+                if (!insertVotes(votes)) {
+                    throw new RuntimeException("One of these polls is no longer open for voting");
+                }
+            } catch (DuplicateKeyException e) {
+                // One of them is already stored; the statement stored nothing, so free the other polls.
+                duplicateInserts.increment();
+                voterIndexService.releaseAll(pollIds, user.getId());
+                throw new RuntimeException("You have already voted in one of these polls");
+            } catch (RuntimeException e) {
+                voterIndexService.releaseAll(pollIds, user.getId());
+                throw e;
+            }
+
+            for (Vote vote : votes) {
+                voteTallyService.recordVote(vote.getPoll().getId(), vote.getCandidate().getId(), vote.getCandidate().getName());
+            }
+        } finally {
+            recording.unlock();
+        }
+        String merkleRoot = ledgerService.recordBallotCast(user.getId(), votes);
+        // Poll ids in leaf order, so a voter can rebuild the root from their choices.
+        return new BallotReceiptDTO(pollIds.stream().sorted().toList(), merkleRoot, MerkleTree.VERSION_CURRENT, castAt);
+    }
+
+    /**
+     * Records ballots collected offline by a kiosk or proxy. Every ballot is
+     * checked against the metadata cache and the voter claims in one pass,
+     * the accepted ones are stored with a single multi-row INSERT and their
+     * ledger entries are appended as one segment. A rejected ballot does not
+     * stop the rest of the batch. Batches are always written directly, also
+     * in write-behind mode.
+     *
+     * @return one outcome per ballot, in request order
+     */
+    public List<BallotOutcomeDTO> castVoteBatch(List<BallotRequest> ballots, HttpServletRequest httpRequest) {
+        if (ballots == null || ballots.isEmpty()) {
+            throw new IllegalArgumentException("The batch contains no ballots");
+        }
+        if (ballots.size() > batchMaxSize) {
+            throw new IllegalArgumentException("A batch may contain at most " + batchMaxSize + " ballots");
+        }
+        ledgerService.checkWritable();
+
+        Set<Long> voterIds = ballots.stream()
+                .map(BallotRequest::getVoterId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> knownVoters = voterIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(voterIds));
+
+        BallotOutcomeDTO[] outcomes = new BallotOutcomeDTO[ballots.size()];
+        List<PendingBallot> accepted = new ArrayList<>();
+        String ipAddress = getClientIp(httpRequest);
+        LocalDateTime votedAt = LocalDateTime.now();
+        List<Vote> recorded = new ArrayList<>();
+        Lock recording = voteWriteLock.recording();
+        recording.lock();
+        try {
+            for (int i = 0; i < ballots.size(); i++) {
+                BallotRequest ballot = ballots.get(i);
+                try {
+                    if (ballot.getPollId() == null || ballot.getCandidateId() == null) {
+                        throw new RuntimeException("Poll and candidate are required");
+                    }
+                    if (ballot.getVoterId() == null || !knownVoters.contains(ballot.getVoterId())) {
+                        throw new RuntimeException("Voter not found");
+                    }
+                    Poll poll = getPoll(ballot.getPollId());
+                    Candidate candidate = getCandidate(ballot.getCandidateId(), poll);
+                    User voter = userRepository.getReferenceById(ballot.getVoterId());
+                    // Also rejects a second ballot from the same voter for a poll within this batch.
+                    claimVote(poll.getId(), voter);
 
-        return voteRepository.existsByPollIdAndUserId(pollId, user.getId());
+                    Vote vote = new Vote();
+                    vote.setPoll(poll);
+                    vote.setCandidate(candidate);
+                    vote.setUser(voter);
+                    vote.setIpAddress(ipAddress);
+                    vote.setVotedAt(votedAt);
+                    accepted.add(new PendingBallot(i, vote));
+                } catch (RuntimeException e) {
+                    outcomes[i] = ballotOutcome(i, ballot, e.getMessage());
+                }
+            }
+
+            insertBallots(accepted);
+
+            for (PendingBallot pending : accepted) {
+                outcomes[pending.index] = ballotOutcome(pending.index, ballots.get(pending.index), pending.rejection);
+                if (pending.rejection == null) {
+                    Vote vote = pending.vote;
+                    voteTallyService.recordVote(vote.getPoll().getId(), vote.getCandidate().getId(), vote.getCandidate().getName());
+                    recorded.add(vote);
+                }
+            }
+        } finally {
+            recording.unlock();
+        }
+        if (!recorded.isEmpty()) {
+            ledgerService.recordVotesCast(recorded);
+        }
+
+        batchRecorded.increment(recorded.size());
+        batchRejected.increment(ballots.size() - recorded.size());
+        return List.of(outcomes);
+    }
+
+    /**
+     * Stores the ballots with one multi-row INSERT. If that fails on a
+     * unique key (one of these votes is already stored) or because a poll
+     * closed meanwhile, the ballots are retried one by one so only those
+     * are rejected.
+     */
+    private void insertBallots(List<PendingBallot> ballots) {
+        if (ballots.isEmpty()) {
+            return;
+        }
+        try {
+            if (insertVotes(ballots.stream().map(ballot -> ballot.vote).toList())) {
+                return;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Fall back to single rows below, which tell duplicates from other failures.
+        } catch (RuntimeException e) {
+            ballots.forEach(ballot -> voterIndexService.release(ballot.vote.getPoll().getId(), ballot.vote.getUser().getId()));
+            throw e;
+        }
+
+        for (PendingBallot ballot : ballots) {
+            try {
+                if (jdbcTemplate.update(INSERT_VOTE_COLUMNS + VOTE_ROW, ps -> bindVote(ps, 1, ballot.vote)) == 0) {
+                    voterIndexService.release(ballot.vote.getPoll().getId(), ballot.vote.getUser().getId());
+                    ballot.rejection = POLL_CLOSED;
+                }
+            } catch (DuplicateKeyException duplicate) {
+                // The vote is already stored; keep the claim.
+                duplicateInserts.increment();
+                ballot.rejection = "You have already voted in this poll";
+            } catch (DataAccessException rowFailure) {
+                voterIndexService.release(ballot.vote.getPoll().getId(), ballot.vote.getUser().getId());
+                ballot.rejection = "Vote could not be recorded: " + rowFailure.getMostSpecificCause().getMessage();
+            }
+        }
+    }
+
+    /**
+     * One INSERT statement for all the votes, so they are stored together or
+     * not at all. Rolled back if any of the polls was no longer open.
+     *
+     * @return false if nothing was stored because a poll had closed
+     */
+    private boolean insertVotes(List<Vote> votes) {
+        String sql = INSERT_VOTE_COLUMNS + String.join(" UNION ALL ", Collections.nCopies(votes.size(), VOTE_ROW));
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            int stored = jdbcTemplate.update(sql, ps -> {
+                int column = 1;
+                for (Vote vote : votes) {
+                    column = bindVote(ps, column, vote);
+                }
+            });
+            if (stored != votes.size()) {
+                status.setRollbackOnly();
+                return false;
+            }
+            return true;
+        }));
+    }
+
+    private static int bindVote(PreparedStatement ps, int column, Vote vote) throws SQLException {
+        ps.setLong(column++, vote.getPoll().getId());
+        ps.setLong(column++, vote.getCandidate().getId());
+        ps.setLong(column++, vote.getUser().getId());
+        ps.setTimestamp(column++, Timestamp.valueOf(vote.getVotedAt()));
+        ps.setString(column++, vote.getIpAddress());
+        ps.setLong(column++, vote.getPoll().getId());
+        ps.setTimestamp(column++, Timestamp.valueOf(vote.getVotedAt()));
+        return column;
+    }
+
+    private static BallotOutcomeDTO ballotOutcome(int index, BallotRequest ballot, String rejection) {
+        return new BallotOutcomeDTO(index, ballot.getPollId(), ballot.getCandidateId(), ballot.getVoterId(),
+                rejection == null ? "RECORDED" : "REJECTED", rejection);
+    }
+
+    private User getCurrentUser() {
+        // The filter already resolved the caller; a reference avoids loading the row again.
+        return userRepository.getReferenceById(CurrentUser.id());
+    }
+
+    private void claimVote(Long pollId, User user) {
+        if (!voterIndexService.tryClaim(pollId, user.getId())) {
+            duplicateClaims.increment();
+            throw new RuntimeException("You have already voted in this poll");
+        }
+    }
+
+    /** An open single-choice poll. */
+    private Poll getPoll(Long pollId) {
+        Poll poll = getOpenPoll(pollId);
+        if (poll.getVotingMethod() != Poll.VotingMethod.PLURALITY) {
+            throw new RuntimeException("This poll takes ranked or approval ballots");
+        }
+        return poll;
+    }
+
+    private Poll getPreferencePoll(Long pollId) {
+        Poll poll = getOpenPoll(pollId);
+        if (poll.getVotingMethod() == Poll.VotingMethod.PLURALITY) {
+            throw new RuntimeException("This poll takes single-choice votes");
+        }
+        return poll;
+    }
+
+    private Poll getOpenPoll(Long pollId) {
+        Poll poll = pollMetadataCache.getPoll(pollId)
+                .orElseThrow(() -> new RuntimeException("Poll not found"));
+        // The lifecycle scheduler keeps the status in step with the poll dates.
+        if (poll.getStatus() != Poll.Status.ACTIVE) {
+            throw new RuntimeException(POLL_CLOSED);
+        }
+        return poll;
+    }
+
+    private Candidate getCandidate(Long candidateId, Poll poll) {
+        Candidate candidate = pollMetadataCache.getCandidate(candidateId)
+                .orElseThrow(() -> new RuntimeException("Candidate not found"));
+        if (!candidate.getPoll().getId().equals(poll.getId())) {
+            throw new RuntimeException("Candidate does not belong to this poll");
+        }
+        return candidate;
+    }
+
+    public boolean hasUserVoted(Long pollId) {
+        User user = getCurrentUser();
+        return voterIndexService.hasVoted(pollId, user.getId());
     }
 
     public List<VoteResultDTO> getPollResults(Long pollId) {
-        List<Object[]> results = voteRepository.getPollResults(pollId);
-        return results.stream()
-                .map(result -> new VoteResultDTO(
-                        (Long) result[0],
-                        (String) result[1],
-                        (Long) result[2]
-                ))
-                .collect(Collectors.toList());
+        Optional<Poll> poll = pollMetadataCache.getPoll(pollId);
+        if (poll.isPresent() && poll.get().getVotingMethod() != Poll.VotingMethod.PLURALITY) {
+            return tabulationService.getResults(poll.get());
+        }
+        return voteTallyService.getResults(pollId);
     }
 
-    public List<Vote> getUserVoteHistory() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /** Round-by-round counts of a ranked or approval poll. */
+    public TabulationResultDTO getTabulation(Long pollId) {
+        Poll poll = pollMetadataCache.getPoll(pollId)
+                .orElseThrow(() -> new RuntimeException("Poll not found"));
+        if (poll.getVotingMethod() == Poll.VotingMethod.PLURALITY) {
+            throw new RuntimeException("Rounds are only counted for ranked and approval polls");
+        }
+        return tabulationService.tabulate(poll);
+    }
+
+    /** The stored final results, present once a poll has closed. */
+    public Optional<PollResult> getFinalResults(Long pollId) {
+        return pollMetadataCache.getPoll(pollId)
+                .filter(poll -> poll.getStatus() == Poll.Status.COMPLETED)
+                .flatMap(poll -> pollResultsService.getSnapshot(pollId));
+    }
+
+    /** The caller's write-behind vote receipt and whether its vote is stored yet. */
+    public Optional<VoteReceiptDTO> getReceipt(String receiptId) {
+        return voteIngestionService.findReceipt(receiptId, CurrentUser.id());
+    }
 
+    public List<Vote> getUserVoteHistory() {
+        User user = getCurrentUser();
         return voteRepository.findByUserId(user.getId());
     }
 
@@ -97,4 +595,16 @@ public class VoteService {
         }
         return xfHeader.split(",")[0];
     }
+
+    private static final class PendingBallot {
+
+        private final int index;
+        private final Vote vote;
+        private String rejection;
+
+        PendingBallot(int index, Vote vote) {
+            this.index = index;
+            this.vote = vote;
+        }
+    }
 }
@@ -0,0 +1,150 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.VoteResultDTO;
+import com.votingplatform.repository.VoteRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Keeps a running vote count per poll and candidate so results can be read
+ * without aggregating the votes table. Counts are seeded from the database on
+ * startup and updated as votes are cast or polls are deleted. When a poll
+ * closes its counts are re-read from the database once and frozen.
+ */
+@Service
+public class VoteTallyService {
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteWriteLock voteWriteLock;
+
+    private volatile Map<Long, PollTally> tallies = new ConcurrentHashMap<>();
+    private final Set<Long> changedPolls = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Recounts every poll from the votes table. Vote writes wait while it
+     * runs (see {@link VoteWriteLock}); closed polls stay frozen.
+     */
+    @PostConstruct
+    public void rebuild() {
+        Lock rebuilding = voteWriteLock.rebuilding();
+        rebuilding.lock();
+        try {
+            Map<Long, PollTally> rebuilt = new ConcurrentHashMap<>();
+            for (Object[] row : voteRepository.getAllPollResults()) {
+                Long pollId = (Long) row[0];
+                rebuilt.computeIfAbsent(pollId, id -> new PollTally())
+                        .add((Long) row[1], (String) row[2], (Long) row[3]);
+            }
+            tallies.forEach((pollId, tally) -> {
+                if (tally.frozen) {
+                    rebuilt.computeIfAbsent(pollId, id -> new PollTally()).frozen = true;
+                }
+            });
+            tallies = rebuilt;
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    /** Counts a stored vote; called under {@link VoteWriteLock#recording()}. */
+    public void recordVote(Long pollId, Long candidateId, String candidateName) {
+        PollTally tally = tallies.computeIfAbsent(pollId, id -> new PollTally());
+        if (tally.frozen) {
+            return;
+        }
+        tally.add(candidateId, candidateName, 1);
+        changedPolls.add(pollId);
+    }
+
+    /**
+     * Replaces the running counts of a closed poll with the final counts
+     * from the votes table; later votes no longer change its results.
+     */
+    public List<VoteResultDTO> freeze(Long pollId) {
+        PollTally frozen = new PollTally();
+        Lock recording = voteWriteLock.recording();
+        recording.lock();
+        try {
+            for (Object[] row : voteRepository.getPollResults(pollId)) {
+                frozen.add((Long) row[0], (String) row[1], (Long) row[2]);
+            }
+            frozen.frozen = true;
+            tallies.put(pollId, frozen);
+        } finally {
+            recording.unlock();
+        }
+        changedPolls.remove(pollId);
+        return frozen.snapshot();
+    }
+
+    public List<VoteResultDTO> getResults(Long pollId) {
+        PollTally tally = tallies.get(pollId);
+        if (tally == null) {
+            return List.of();
+        }
+        return tally.snapshot();
+    }
+
+    public void evictPoll(Long pollId) {
+        tallies.remove(pollId);
+        changedPolls.remove(pollId);
+    }
+
+    /** Returns the polls whose counts changed since the previous call. */
+    public Set<Long> drainChangedPolls() {
+        Set<Long> drained = new HashSet<>();
+        Iterator<Long> it = changedPolls.iterator();
+        while (it.hasNext()) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    private static final class PollTally {
+
+        private final Map<Long, CandidateCount> counts = new ConcurrentHashMap<>();
+        private volatile boolean frozen;
+
+        void add(Long candidateId, String candidateName, long delta) {
+            counts.computeIfAbsent(candidateId, id -> new CandidateCount(candidateName))
+                    .votes.add(delta);
+        }
+
+        List<VoteResultDTO> snapshot() {
+            List<VoteResultDTO> results = new ArrayList<>(counts.size());
+            counts.forEach((candidateId, count) -> {
+                long votes = count.votes.sum();
+                if (votes > 0) {
+                    results.add(new VoteResultDTO(candidateId, count.name, votes));
+                }
+            });
+            return results;
+        }
+    }
+
+    private static final class CandidateCount {
+
+        private final String name;
+        // Striped across padded cells under contention, so a hot candidate does not serialise writers.
+        private final LongAdder votes = new LongAdder();
+
+        CandidateCount(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.votingplatform.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Orders vote writes against rebuilds of the in-memory vote indexes
+ * ({@link VoterIndexService}, {@link VoteTallyService} and
+ * {@link TabulationService}). A write holds the shared side from its claim
+ * until the vote is added to the tallies; a rebuild holds the exclusive side
+ * while it reads the tables and swaps its map in. A rebuild therefore sees
+ * each vote exactly once: in the table, or through the write that records it.
+ */
+@Component
+public class VoteWriteLock {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Held by a vote write; any number of writes run at once. */
+    public Lock recording() {
+        return lock.readLock();
+    }
+
+    /** Held by a rebuild; waits for writes in progress and holds off new ones. */
+    public Lock rebuilding() {
+        return lock.writeLock();
+    }
+}
@@ -1,183 +1,95 @@
 package com.votingplatform.service;
 
-import com.votingplatform.dto.VoterProvisionDTO;
 import com.votingplatform.dto.VoterSearchDTO;
-import com.votingplatform.entity.User;
-import com.votingplatform.repository.UserRepository;
-import com.votingplatform.repository.VoteRepository;
-import org.apache.poi.ss.usermodel.*;
+import com.votingplatform.security.PrincipalCache;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.IOException;
-import java.security.SecureRandom;
-import java.text.Normalizer;
-import java.time.LocalDateTime;
 import java.util.*;
 
 @Service
+@Timed("voting.service")
 public class VoterAdminService {
 
-    private static final String EMAIL_DOMAIN = "@voting.com";
-    private static final SecureRandom RANDOM = new SecureRandom();
-    private static final String PASSWORD_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnpqrstuvwxyz23456789";
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int VOTERS_PER_TRANSACTION = 1000;
 
     @Autowired
-    private UserRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private TransactionTemplate transactionTemplate;
 
     @Autowired
-    private VoteRepository voteRepository;
+    private LedgerService ledgerService;
 
-    @Transactional
-    public List<VoterProvisionDTO> importVoters(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("Please upload a non-empty Excel file");
-        }
-
-        try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-            if (sheet == null) {
-                throw new IllegalArgumentException("Excel sheet is empty");
-            }
+    @Autowired
+    private VoteTallyService voteTallyService;
 
-            List<VoterProvisionDTO> created = new ArrayList<>();
-            Set<String> pendingEmails = new HashSet<>();
-
-            for (Row row : sheet) {
-                if (row == null) {
-                    continue;
-                }
-
-                if (isHeaderRow(row)) {
-                    continue;
-                }
-
-                Cell cell = row.getCell(0, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-                if (cell == null) {
-                    continue;
-                }
-
-                cell.setCellType(CellType.STRING);
-                String rawName = cell.getStringCellValue();
-                if (rawName == null) {
-                    continue;
-                }
-
-                String name = rawName.trim();
-                if (name.isEmpty()) {
-                    continue;
-                }
-
-                String email = generateUniqueEmail(name, pendingEmails);
-                String tempPassword = generateTemporaryPassword();
-
-                User user = new User();
-                user.setName(name);
-                user.setEmail(email);
-                user.setPassword(passwordEncoder.encode(tempPassword));
-                user.setRole(User.Role.VOTER);
-
-                LocalDateTime now = LocalDateTime.now();
-                User saved = userRepository.save(user);
-                LocalDateTime createdAt = saved.getCreatedAt() != null ? saved.getCreatedAt() : now;
-                pendingEmails.add(email.toLowerCase(Locale.ROOT));
-
-                created.add(new VoterProvisionDTO(
-                        saved.getId(),
-                        saved.getName(),
-                        saved.getEmail(),
-                        tempPassword,
-                    createdAt
-                ));
-            }
+    @Autowired
+    private VoterIndexService voterIndexService;
 
-            if (created.isEmpty()) {
-                throw new IllegalArgumentException("No valid names were found in the uploaded file");
-            }
+    @Autowired
+    private TabulationService tabulationService;
 
-            return created;
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Unable to read Excel file. Please upload .xlsx format", e);
-        }
-    }
+    @Autowired
+    private PrincipalCache principalCache;
 
-    public List<VoterSearchDTO> searchVoters(String query) {
+    @Autowired
+    private VoterSearchIndex voterSearchIndex;
+
+    /**
+     * Ranked prefix search over voter names and e-mails, served from
+     * {@link VoterSearchIndex}. Returns up to {@code size + 1} rows so the
+     * caller can tell whether another page follows.
+     */
+    public List<VoterSearchDTO> searchVoters(String query, int page, int size) {
         if (query == null || query.trim().isEmpty()) {
             return List.of();
         }
 
-        List<User> users = userRepository.searchByRoleAndQuery(User.Role.VOTER, query.trim());
-        List<VoterSearchDTO> results = new ArrayList<>();
-        for (User user : users) {
-            results.add(new VoterSearchDTO(user.getId(), user.getName(), user.getEmail(), user.getCreatedAt()));
-        }
-        return results;
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        return voterSearchIndex.search(query, Math.max(page, 0) * pageSize, pageSize);
     }
 
-    @Transactional
+    /**
+     * Deletes voters and their votes a slice of users at a time, each slice in
+     * its own transaction, then refreshes the in-memory indexes once and
+     * records a single summary entry in the ledger.
+     */
     public long deleteAllVoters() {
-        List<Long> voterIds = userRepository.findIdsByRole(User.Role.VOTER);
-        if (voterIds.isEmpty()) {
-            return 0;
-        }
-
-        voteRepository.deleteByUserIdIn(voterIds);
-        return userRepository.deleteByRole(User.Role.VOTER);
-    }
-
-    private boolean isHeaderRow(Row row) {
-        if (row.getRowNum() == 0) {
-            Cell cell = row.getCell(0, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-            if (cell != null) {
-                cell.setCellType(CellType.STRING);
-                String value = cell.getStringCellValue();
-                return value != null && value.trim().equalsIgnoreCase("name");
+        long voters = 0;
+        long votes = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM users WHERE role = 'VOTER' ORDER BY id LIMIT " + VOTERS_PER_TRANSACTION, Long.class);
+            if (ids.isEmpty()) {
+                break;
             }
+            String in = "(" + ChunkedDeleter.placeholders(ids.size()) + ")";
+            Object[] args = ids.toArray();
+            long[] counts = transactionTemplate.execute(status -> new long[] {
+                    jdbcTemplate.update("DELETE FROM votes WHERE user_id IN " + in, args)
+                            + jdbcTemplate.update("DELETE FROM preference_ballots WHERE user_id IN " + in, args),
+                    jdbcTemplate.update("DELETE FROM users WHERE id IN " + in + " AND role = 'VOTER'", args)
+            });
+            votes += counts[0];
+            voters += counts[1];
+        } while (ids.size() == VOTERS_PER_TRANSACTION);
+
+        if (voters == 0) {
+            return 0;
         }
-        return false;
-    }
-
-    private String generateUniqueEmail(String name, Set<String> pendingEmails) {
-        String base = sanitizeName(name);
-        if (base.isEmpty()) {
-            base = "voter";
-        }
-
-        String candidate = base;
-        int suffix = 1;
-        while (emailExists(candidate + EMAIL_DOMAIN, pendingEmails)) {
-            candidate = base + suffix;
-            suffix++;
-        }
-        return candidate + EMAIL_DOMAIN;
-    }
-
-    private boolean emailExists(String email, Set<String> pending) {
-        String lower = email.toLowerCase(Locale.ROOT);
-        return pending.contains(lower) || userRepository.existsByEmail(email);
-    }
-
-        private String sanitizeName(String name) {
-        String normalized = Normalizer.normalize(name, Normalizer.Form.NFD)
-            .replaceAll("[^\\p{ASCII}]", "");
-        String lowered = normalized.toLowerCase(Locale.ROOT)
-            .replaceAll("\\s+", ".")
-            .replaceAll("[^a-z0-9.]", "");
-        return lowered.replaceAll("\\.+", ".").replaceAll("^\\.+|\\.+$", "");
-    }
-
-    private String generateTemporaryPassword() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 6; i++) {
-            int index = RANDOM.nextInt(PASSWORD_CHARS.length());
-            sb.append(PASSWORD_CHARS.charAt(index));
-        }
-        return "Vote@" + sb;
+        principalCache.invalidateAll();
+        voterSearchIndex.rebuild();
+        voteTallyService.rebuild();
+        tabulationService.rebuild();
+        voterIndexService.rebuild();
+        ledgerService.recordVotersPurged(voters, votes);
+        return voters;
     }
 }
@@ -0,0 +1,552 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.ImportProgressDTO;
+import com.votingplatform.dto.VoterProvisionDTO;
+import com.votingplatform.dto.VoterSearchDTO;
+import com.votingplatform.entity.ImportJob;
+import com.votingplatform.entity.User;
+import com.votingplatform.repository.ImportJobRepository;
+import com.votingplatform.repository.UserRepository;
+import com.votingplatform.security.PasswordHashingExecutor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs voter imports as background jobs. An upload is stored on disk and
+ * queued on a bounded worker pool; the worker streams the sheet and commits
+ * it in chunks, advancing the job's checkpoint in the same transaction as
+ * each chunk's inserts. A failed or interrupted job resumes after its last
+ * committed chunk. Temporary passwords are only ever held in memory and are
+ * dropped after {@code results-retention-seconds} or a restart; each voter
+ * keeps the id of the job that created it, so the job's passwords can be
+ * re-issued once they are gone.
+ */
+@Service
+@Timed("voting.service")
+public class VoterImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(VoterImportService.class);
+
+    private static final String EMAIL_DOMAIN = "@voting.com";
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String PASSWORD_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnpqrstuvwxyz23456789";
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (name, email, password, role, created_at, import_job_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_JOB_VOTERS_SQL =
+            "SELECT id, name, email, created_at FROM users WHERE import_job_id = ? AND role = 'VOTER' ORDER BY id";
+    private static final String UPDATE_PASSWORD_SQL = "UPDATE users SET password = ? WHERE id = ?";
+    private static final String ADVANCE_CHECKPOINT_SQL =
+            "UPDATE import_jobs SET processed_rows = processed_rows + ? WHERE id = ?";
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashing;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private VoterSearchIndex voterSearchIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${voting.import.workers:1}")
+    private int workers;
+
+    @Value("${voting.import.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${voting.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${voting.import.storage-dir:${java.io.tmpdir}/voter-imports}")
+    private String storageDir;
+
+    @Value("${voting.import.results-retention-seconds:3600}")
+    private long resultsRetentionSeconds;
+
+    private final Map<String, JobResults> results = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor jobPool;
+    private Counter importedRows;
+    private Timer hashTimer;
+    private Timer commitTimer;
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(Paths.get(storageDir));
+
+        // Anything still queued or running was cut off by a shutdown; leave it resumable.
+        List<ImportJob> interrupted = importJobRepository.findByStatusIn(
+                List.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING));
+        for (ImportJob job : interrupted) {
+            job.setStatus(ImportJob.Status.FAILED);
+            job.setError("Interrupted by a restart, resume to continue");
+            job.setFinishedAt(LocalDateTime.now());
+        }
+        importJobRepository.saveAll(interrupted);
+
+        jobPool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("voter-import-job"));
+
+        Gauge.builder("voting.import.queue.depth", jobPool, pool -> pool.getQueue().size()).register(meterRegistry);
+        importedRows = meterRegistry.counter("voting.import.rows");
+        hashTimer = meterRegistry.timer("voting.import.chunk", "step", "hash");
+        commitTimer = meterRegistry.timer("voting.import.chunk", "step", "commit");
+    }
+
+    @PreDestroy
+    public void stop() {
+        jobPool.shutdownNow();
+    }
+
+    /**
+     * Stores the upload and queues it for import.
+     *
+     * @throws ServiceBusyException when the job queue is full
+     */
+    public ImportProgressDTO submitImport(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Please upload a non-empty Excel file");
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        Path stored = Paths.get(storageDir, jobId + ".xlsx");
+        try {
+            file.transferTo(stored);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store the uploaded file", e);
+        }
+
+        ImportJob job = new ImportJob();
+        job.setId(jobId);
+        job.setFileName(file.getOriginalFilename());
+        job.setStoredPath(stored.toString());
+        job = importJobRepository.save(job);
+
+        try {
+            jobPool.execute(() -> runJob(jobId));
+        } catch (RejectedExecutionException e) {
+            importJobRepository.deleteById(jobId);
+            deleteQuietly(stored);
+            throw new ServiceBusyException("Too many voter imports are queued, please retry later", 30);
+        }
+        return toProgress(job);
+    }
+
+    /**
+     * Re-queues a failed job; it continues after the last committed chunk.
+     */
+    public ImportProgressDTO resumeImport(String jobId) {
+        if (!importJobRepository.existsById(jobId)) {
+            throw new IllegalArgumentException("Import job not found");
+        }
+        // Checked and flipped under a row lock so two resume calls cannot both queue the job.
+        ImportJob queued = updateJob(jobId, j -> {
+            if (j.getStatus() != ImportJob.Status.FAILED) {
+                throw new IllegalArgumentException("Only failed import jobs can be resumed");
+            }
+            if (!Files.exists(Paths.get(j.getStoredPath()))) {
+                throw new IllegalArgumentException("The uploaded file for this job is no longer available");
+            }
+            j.setStatus(ImportJob.Status.QUEUED);
+            j.setError(null);
+            j.setFinishedAt(null);
+        });
+        try {
+            jobPool.execute(() -> runJob(jobId));
+        } catch (RejectedExecutionException e) {
+            updateJob(jobId, j -> {
+                j.setStatus(ImportJob.Status.FAILED);
+                j.setError("Import queue was full, resume to retry");
+            });
+            throw new ServiceBusyException("Too many voter imports are queued, please retry later", 30);
+        }
+        return toProgress(queued);
+    }
+
+    public Optional<ImportProgressDTO> getProgress(String jobId) {
+        return importJobRepository.findById(jobId).map(this::toProgress);
+    }
+
+    /** Voters created by the job in this process, with their temporary passwords. */
+    public Optional<List<VoterProvisionDTO>> getResults(String jobId) {
+        JobResults jobResults = results.get(jobId);
+        return jobResults == null ? Optional.empty() : Optional.of(new ArrayList<>(jobResults.rows));
+    }
+
+    /**
+     * Gives every voter created by a finished job a new temporary password,
+     * for when the original results were not downloaded in time. The old
+     * passwords stop working, and the new ones are served from
+     * {@link #getResults} like a fresh run's.
+     */
+    public List<VoterProvisionDTO> reissuePasswords(String jobId) {
+        ImportJob job = importJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Import job not found"));
+        if (job.getStatus() == ImportJob.Status.QUEUED || job.getStatus() == ImportJob.Status.RUNNING) {
+            throw new IllegalArgumentException("Passwords can only be re-issued once the import has stopped");
+        }
+        List<PendingVoter> voters = new ArrayList<>();
+        jdbcTemplate.query(SELECT_JOB_VOTERS_SQL, rs -> {
+            PendingVoter voter = new PendingVoter(rs.getString(2));
+            voter.id = rs.getLong(1);
+            voter.email = rs.getString(3);
+            voter.createdAt = rs.getTimestamp(4).toLocalDateTime();
+            voters.add(voter);
+        }, jobId);
+
+        JobResults reissued = new JobResults();
+        for (int from = 0; from < voters.size(); from += chunkSize) {
+            List<PendingVoter> chunk = voters.subList(from, Math.min(from + chunkSize, voters.size()));
+            chunk.forEach(voter -> voter.temporaryPassword = generateTemporaryPassword());
+            hashTimer.record(() -> hashPasswords(chunk));
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPDATE_PASSWORD_SQL, chunk, chunk.size(), (ps, voter) -> {
+                        ps.setString(1, voter.passwordHash);
+                        ps.setLong(2, voter.id);
+                    }));
+            for (PendingVoter voter : chunk) {
+                reissued.rows.add(new VoterProvisionDTO(
+                        voter.id, voter.name, voter.email, voter.temporaryPassword, voter.createdAt));
+            }
+        }
+        reissued.finishedAt = LocalDateTime.now();
+        results.put(jobId, reissued);
+        log.info("Re-issued {} temporary passwords for import job {}", voters.size(), jobId);
+        return new ArrayList<>(reissued.rows);
+    }
+
+    @Scheduled(fixedDelayString = "${voting.import.results-sweep-interval-ms:60000}")
+    public void evictExpiredResults() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(resultsRetentionSeconds);
+        results.values().removeIf(jobResults ->
+                jobResults.finishedAt != null && jobResults.finishedAt.isBefore(cutoff));
+    }
+
+    private void runJob(String jobId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        ImportJob job = updateJob(jobId, j -> {
+            j.setStatus(ImportJob.Status.RUNNING);
+            j.setAttempts(j.getAttempts() + 1);
+            j.setRunStartRow(j.getProcessedRows());
+            j.setStartedAt(LocalDateTime.now());
+        });
+        JobResults jobResults = results.computeIfAbsent(jobId, id -> new JobResults());
+        jobResults.finishedAt = null;
+
+        try {
+            File file = new File(job.getStoredPath());
+            if (!file.exists()) {
+                throw new IllegalStateException("The uploaded file for this job is no longer available");
+            }
+            if (job.getTotalRows() == null) {
+                int[] total = new int[1];
+                VoterSheetReader.readNames(file, (name, rowNum) -> total[0]++);
+                updateJob(jobId, j -> j.setTotalRows(total[0]));
+                if (total[0] == 0) {
+                    throw new IllegalArgumentException("No valid names were found in the uploaded file");
+                }
+            }
+
+            ChunkWriter writer = new ChunkWriter(jobId, jobResults);
+            int alreadyCommitted = job.getProcessedRows();
+            int[] seen = new int[1];
+            VoterSheetReader.readNames(file, (name, rowNum) -> {
+                if (seen[0]++ >= alreadyCommitted) {
+                    writer.add(name);
+                }
+            });
+            writer.flush();
+
+            updateJob(jobId, j -> {
+                j.setStatus(ImportJob.Status.COMPLETED);
+                j.setFinishedAt(LocalDateTime.now());
+            });
+            deleteQuietly(file.toPath());
+            outcome = "completed";
+        } catch (Exception e) {
+            log.error("Voter import job {} failed", jobId, e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            updateJob(jobId, j -> {
+                j.setStatus(ImportJob.Status.FAILED);
+                j.setError(message.length() > 1000 ? message.substring(0, 1000) : message);
+                j.setFinishedAt(LocalDateTime.now());
+            });
+        } finally {
+            jobResults.finishedAt = LocalDateTime.now();
+            sample.stop(meterRegistry.timer("voting.import.job", "outcome", outcome));
+        }
+    }
+
+    private ImportJob updateJob(String jobId, Consumer<ImportJob> change) {
+        return transactionTemplate.execute(status -> {
+            ImportJob job = importJobRepository.findByIdForUpdate(jobId)
+                    .orElseThrow(() -> new IllegalStateException("Import job " + jobId + " not found"));
+            change.accept(job);
+            return job;
+        });
+    }
+
+    private ImportProgressDTO toProgress(ImportJob job) {
+        int processed = job.getProcessedRows();
+        double rowsPerSecond = 0;
+        Long etaSeconds = null;
+        if (job.getStartedAt() != null && job.getStatus() != ImportJob.Status.QUEUED) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            double seconds = Duration.between(job.getStartedAt(), end).toMillis() / 1000.0;
+            if (seconds > 0) {
+                rowsPerSecond = (processed - job.getRunStartRow()) / seconds;
+            }
+            if (job.getStatus() == ImportJob.Status.RUNNING && job.getTotalRows() != null && rowsPerSecond > 0) {
+                etaSeconds = (long) Math.ceil((job.getTotalRows() - processed) / rowsPerSecond);
+            }
+        }
+        JobResults jobResults = results.get(job.getId());
+        return new ImportProgressDTO(
+                job.getId(),
+                job.getFileName(),
+                job.getStatus().name(),
+                job.getTotalRows(),
+                processed,
+                rowsPerSecond,
+                etaSeconds,
+                jobResults != null ? jobResults.rows.size() : 0,
+                job.getAttempts(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getError()
+        );
+    }
+
+    // One task per password at import priority, so a login never waits behind more than one import hash.
+    private void hashPasswords(List<PendingVoter> chunk) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(chunk.size());
+        for (PendingVoter voter : chunk) {
+            hashes.add(passwordHashing.encodeAsync(voter.temporaryPassword, User.Role.VOTER,
+                    PasswordHashingExecutor.Priority.IMPORT));
+        }
+        try {
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).passwordHash = hashes.get(i).join();
+            }
+        } catch (CompletionException e) {
+            throw new RuntimeException("Failed to hash voter passwords", e.getCause());
+        }
+    }
+
+    // Package-private for the JMH suites in the benchmarks module.
+    static String sanitizeName(String name) {
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFD)
+                .replaceAll("[^\\p{ASCII}]", "");
+        String lowered = normalized.toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", ".")
+                .replaceAll("[^a-z0-9.]", "");
+        return lowered.replaceAll("\\.+", ".").replaceAll("^\\.+|\\.+$", "");
+    }
+
+    static String generateTemporaryPassword() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            int index = RANDOM.nextInt(PASSWORD_CHARS.length());
+            sb.append(PASSWORD_CHARS.charAt(index));
+        }
+        return "Vote@" + sb;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", path, e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Buffers names from the sheet and commits them a chunk at a time. Runs on
+     * the job's worker thread only.
+     */
+    private final class ChunkWriter {
+
+        private final String jobId;
+        private final JobResults jobResults;
+        private final List<PendingVoter> buffer = new ArrayList<>(chunkSize);
+        private Set<String> taken = new HashSet<>(userRepository.findAllEmailsLowercase());
+        private final Map<String, Integer> nextSuffix = new HashMap<>();
+
+        ChunkWriter(String jobId, JobResults jobResults) {
+            this.jobId = jobId;
+            this.jobResults = jobResults;
+        }
+
+        void add(String name) {
+            buffer.add(new PendingVoter(name));
+            if (buffer.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            for (PendingVoter voter : buffer) {
+                voter.email = generateUniqueEmail(voter.name);
+                voter.temporaryPassword = generateTemporaryPassword();
+            }
+            hashTimer.record(() -> hashPasswords(buffer));
+
+            LocalDateTime createdAt = LocalDateTime.now();
+            long commitStart = System.nanoTime();
+            Map<String, Long> ids;
+            try {
+                ids = commit(buffer, createdAt);
+            } catch (DuplicateKeyException e) {
+                // Another import or a registration took one of our e-mails; refresh and retry once.
+                taken = new HashSet<>(userRepository.findAllEmailsLowercase());
+                nextSuffix.clear();
+                for (PendingVoter voter : buffer) {
+                    voter.email = generateUniqueEmail(voter.name);
+                }
+                ids = commit(buffer, createdAt);
+            }
+            commitTimer.record(System.nanoTime() - commitStart, TimeUnit.NANOSECONDS);
+            importedRows.increment(buffer.size());
+
+            for (PendingVoter voter : buffer) {
+                Long id = ids.get(voter.email);
+                jobResults.rows.add(new VoterProvisionDTO(
+                        id,
+                        voter.name,
+                        voter.email,
+                        voter.temporaryPassword,
+                        createdAt
+                ));
+                voterSearchIndex.add(new VoterSearchDTO(id, voter.name, voter.email, createdAt));
+            }
+            buffer.clear();
+        }
+
+        private Map<String, Long> commit(List<PendingVoter> chunk, LocalDateTime createdAt) {
+            Timestamp createdAtValue = Timestamp.valueOf(createdAt);
+            Map<String, Long> ids = new HashMap<>(chunk.size() * 2);
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_USER_SQL, chunk, chunk.size(), (ps, voter) -> {
+                    ps.setString(1, voter.name);
+                    ps.setString(2, voter.email);
+                    ps.setString(3, voter.passwordHash);
+                    ps.setString(4, User.Role.VOTER.name());
+                    ps.setTimestamp(5, createdAtValue);
+                    ps.setString(6, jobId);
+                });
+                List<String> emails = chunk.stream().map(voter -> voter.email).toList();
+                namedJdbcTemplate.query("SELECT id, email FROM users WHERE email IN (:emails)",
+                        Map.of("emails", emails),
+                        rs -> {
+                            ids.put(rs.getString(2), rs.getLong(1));
+                        });
+                jdbcTemplate.update(ADVANCE_CHECKPOINT_SQL, chunk.size(), jobId);
+            });
+            return ids;
+        }
+
+        private String generateUniqueEmail(String name) {
+            String base = sanitizeName(name);
+            if (base.isEmpty()) {
+                base = "voter";
+            }
+
+            String candidate = base;
+            if (taken.contains(candidate + EMAIL_DOMAIN)) {
+                // Resume from the last suffix handed out for this base instead of rescanning from 1.
+                int suffix = nextSuffix.getOrDefault(base, 1);
+                while (taken.contains(base + suffix + EMAIL_DOMAIN)) {
+                    suffix++;
+                }
+                candidate = base + suffix;
+                nextSuffix.put(base, suffix + 1);
+            }
+            String email = candidate + EMAIL_DOMAIN;
+            taken.add(email);
+            return email;
+        }
+    }
+
+    private static final class PendingVoter {
+
+        private final String name;
+        private Long id;
+        private LocalDateTime createdAt;
+        private String email;
+        private String temporaryPassword;
+        private String passwordHash;
+
+        PendingVoter(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class JobResults {
+
+        private final List<VoterProvisionDTO> rows = Collections.synchronizedList(new ArrayList<>());
+        private volatile LocalDateTime finishedAt;
+    }
+}
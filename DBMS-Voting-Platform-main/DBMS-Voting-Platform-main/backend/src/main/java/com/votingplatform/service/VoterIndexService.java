@@ -0,0 +1,149 @@
+package com.votingplatform.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * In-memory "has voted" index. Each poll keeps a bitset keyed by user id and
+ * a vote is admitted only if its bit is claimed with a compare-and-set, so two
+ * concurrent requests from the same voter cannot both get through. The index
+ * is loaded from the votes and preference ballots on startup.
+ */
+@Service
+public class VoterIndexService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VoteWriteLock voteWriteLock;
+
+    private volatile Map<Long, VoterBitset> index = new ConcurrentHashMap<>();
+
+    /**
+     * Reloads the claims from the tables. Vote writes, which claim first,
+     * wait while it runs (see {@link VoteWriteLock}).
+     */
+    @PostConstruct
+    public void rebuild() {
+        Lock rebuilding = voteWriteLock.rebuilding();
+        rebuilding.lock();
+        try {
+            Map<Long, VoterBitset> rebuilt = new ConcurrentHashMap<>();
+            RowCallbackHandler claim = rs -> {
+                rebuilt.computeIfAbsent(rs.getLong(1), id -> new VoterBitset()).claim(rs.getLong(2));
+            };
+            jdbcTemplate.query("SELECT poll_id, user_id FROM votes", claim);
+            jdbcTemplate.query("SELECT poll_id, user_id FROM preference_ballots", claim);
+            index = rebuilt;
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    /**
+     * Atomically marks the user as having voted in the poll.
+     *
+     * @return false if the user had already voted
+     */
+    public boolean tryClaim(Long pollId, Long userId) {
+        return index.computeIfAbsent(pollId, id -> new VoterBitset()).claim(userId);
+    }
+
+    /**
+     * Claims every poll for the user, or none of them: if any poll was
+     * already claimed the ones taken so far are given back.
+     *
+     * @return false if the user had already voted in any of the polls
+     */
+    public boolean tryClaimAll(List<Long> pollIds, Long userId) {
+        for (int i = 0; i < pollIds.size(); i++) {
+            if (!tryClaim(pollIds.get(i), userId)) {
+                releaseAll(pollIds.subList(0, i), userId);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void releaseAll(List<Long> pollIds, Long userId) {
+        pollIds.forEach(pollId -> release(pollId, userId));
+    }
+
+    /** Gives back a claim whose vote could not be stored. */
+    public void release(Long pollId, Long userId) {
+        VoterBitset voters = index.get(pollId);
+        if (voters != null) {
+            voters.clear(userId);
+        }
+    }
+
+    public boolean hasVoted(Long pollId, Long userId) {
+        VoterBitset voters = index.get(pollId);
+        return voters != null && voters.contains(userId);
+    }
+
+    public void evictPoll(Long pollId) {
+        index.remove(pollId);
+    }
+
+    /**
+     * Sparse concurrent bitset: ids are split into fixed-size pages of atomic
+     * words that are only allocated once a voter in that range shows up.
+     */
+    private static final class VoterBitset {
+
+        private static final int PAGE_BITS = 16;
+        private static final int WORDS_PER_PAGE = (1 << PAGE_BITS) / Long.SIZE;
+
+        private final Map<Long, AtomicLongArray> pages = new ConcurrentHashMap<>();
+
+        boolean claim(long id) {
+            AtomicLongArray page = pages.computeIfAbsent(id >>> PAGE_BITS, p -> new AtomicLongArray(WORDS_PER_PAGE));
+            int word = wordIndex(id);
+            long mask = 1L << id;
+            while (true) {
+                long current = page.get(word);
+                if ((current & mask) != 0) {
+                    return false;
+                }
+                if (page.compareAndSet(word, current, current | mask)) {
+                    return true;
+                }
+            }
+        }
+
+        void clear(long id) {
+            AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+            if (page == null) {
+                return;
+            }
+            int word = wordIndex(id);
+            long mask = 1L << id;
+            while (true) {
+                long current = page.get(word);
+                if ((current & mask) == 0 || page.compareAndSet(word, current, current & ~mask)) {
+                    return;
+                }
+            }
+        }
+
+        boolean contains(long id) {
+            AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+            return page != null && (page.get(wordIndex(id)) & (1L << id)) != 0;
+        }
+
+        private static int wordIndex(long id) {
+            return (int) ((id >>> 6) & (WORDS_PER_PAGE - 1));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.VoterSearchDTO;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over voter names and e-mail addresses. Each voter is
+ * indexed under the words of their name and their e-mail local part; a query
+ * walks the sorted term map from its prefix, so exact term matches come first
+ * and only as many postings are read as the page needs. Kept in sync by
+ * registration, imports and bulk deletes. A rebuild loads a new index and
+ * swaps it in whole, so searches never see it half-loaded; voters added
+ * meanwhile wait for the swap and go into the new index.
+ */
+@Service
+public class VoterSearchIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s,]+");
+    private static final Pattern HYPHENS = Pattern.compile("-+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}");
+    private static final String LOAD_VOTERS_SQL =
+            "SELECT id, name, email, created_at FROM users WHERE role = 'VOTER'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Index index = new Index();
+    // Adds share it; a rebuild takes it exclusively from the load until the swap.
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void rebuild() {
+        swapLock.writeLock().lock();
+        try {
+            Index rebuilt = new Index();
+            jdbcTemplate.query(LOAD_VOTERS_SQL, rs -> {
+                Timestamp createdAt = rs.getTimestamp(4);
+                rebuilt.add(new VoterSearchDTO(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        createdAt != null ? createdAt.toLocalDateTime() : null));
+            });
+            index = rebuilt;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    public void add(VoterSearchDTO voter) {
+        swapLock.readLock().lock();
+        try {
+            index.add(voter);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public void addAll(Collection<VoterSearchDTO> batch) {
+        batch.forEach(this::add);
+    }
+
+    public void clear() {
+        swapLock.writeLock().lock();
+        try {
+            index = new Index();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit + 1} voters after skipping {@code offset}, so
+     * the caller can tell whether another page exists. Every query token must
+     * prefix one of the voter's terms; the longest token drives the scan.
+     */
+    public List<VoterSearchDTO> search(String query, int offset, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String driver = "";
+        boolean exact = false;
+        for (String token : tokens) {
+            // Full e-mails are not indexed; "john.smith@vo" looks up exactly the local part "john.smith".
+            int at = token.indexOf('@');
+            String term = at >= 0 ? token.substring(0, at) : token;
+            if (term.length() > driver.length() || (at >= 0 && term.length() == driver.length())) {
+                driver = term;
+                exact = at >= 0;
+            }
+        }
+        if (driver.isEmpty()) {
+            return List.of();
+        }
+
+        Index current = index;
+        Set<Long> seen = new HashSet<>();
+        List<VoterSearchDTO> page = new ArrayList<>(limit + 1);
+        int skipped = 0;
+        NavigableMap<String, Set<Long>> matches = exact
+                ? current.terms.subMap(driver, true, driver, true)
+                : current.terms.subMap(driver, true, driver + Character.MAX_VALUE, false);
+        for (Set<Long> ids : matches.values()) {
+            for (Long id : ids) {
+                if (!seen.add(id)) {
+                    continue;
+                }
+                IndexedVoter voter = current.voters.get(id);
+                if (voter == null || !voter.matchesAll(tokens)) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                    continue;
+                }
+                page.add(voter.dto);
+                if (page.size() > limit) {
+                    return page;
+                }
+            }
+        }
+        return page;
+    }
+
+    private static String[] termsOf(VoterSearchDTO voter) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String word : tokenize(voter.getName())) {
+            result.add(word);
+            // Also index the parts of hyphenated names so "marie" finds "anne-marie".
+            if (word.indexOf('-') > 0) {
+                result.addAll(List.of(HYPHENS.split(word)));
+            }
+        }
+        String email = voter.getEmail() != null ? voter.getEmail().toLowerCase(Locale.ROOT) : "";
+        if (!email.isEmpty()) {
+            int at = email.indexOf('@');
+            result.add(at > 0 ? email.substring(0, at) : email);
+        }
+        return result.toArray(String[]::new);
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = text;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT).trim())) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Index {
+
+        // term -> voter ids, ids kept sorted so pages are stable
+        private final ConcurrentSkipListMap<String, Set<Long>> terms = new ConcurrentSkipListMap<>();
+        private final Map<Long, IndexedVoter> voters = new ConcurrentHashMap<>();
+
+        void add(VoterSearchDTO voter) {
+            IndexedVoter indexed = new IndexedVoter(voter, termsOf(voter));
+            IndexedVoter previous = voters.put(voter.getId(), indexed);
+            if (previous != null) {
+                unlink(previous);
+            }
+            for (String term : indexed.terms) {
+                terms.computeIfAbsent(term, t -> new ConcurrentSkipListSet<>()).add(voter.getId());
+            }
+        }
+
+        private void unlink(IndexedVoter voter) {
+            for (String term : voter.terms) {
+                terms.computeIfPresent(term, (t, ids) -> {
+                    ids.remove(voter.dto.getId());
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+
+    private record IndexedVoter(VoterSearchDTO dto, String[] terms) {
+
+        boolean matchesAll(List<String> tokens) {
+            for (String token : tokens) {
+                boolean matched = token.indexOf('@') >= 0 && dto.getEmail() != null &&
+                        dto.getEmail().toLowerCase(Locale.ROOT).startsWith(token);
+                for (int i = 0; i < terms.length && !matched; i++) {
+                    matched = terms[i].startsWith(token);
+                }
+                if (!matched) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.votingplatform.service;
+
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Streams voter names out of the first column of the first sheet of an .xlsx
+ * file with POI's SAX event model, so the workbook is never held in memory.
+ * A "Name" header in the first row is skipped, as are blank cells.
+ */
+final class VoterSheetReader {
+
+    private VoterSheetReader() {
+    }
+
+    /**
+     * Calls {@code consumer} with each trimmed, non-empty name and its
+     * zero-based row number, in sheet order.
+     */
+    static void readNames(File xlsx, ObjIntConsumer<String> consumer) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(xlsx, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IllegalArgumentException("Excel sheet is empty");
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        reader.getStylesTable(), null, strings, new NameColumnHandler(consumer), new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | UnsupportedFileFormatException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Unable to parse Excel file", e);
+        }
+    }
+
+    private static final class NameColumnHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ObjIntConsumer<String> consumer;
+        private int currentRow;
+
+        NameColumnHandler(ObjIntConsumer<String> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentRow = rowNum;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null || new CellReference(cellReference).getCol() != 0 || formattedValue == null) {
+                return;
+            }
+            String name = formattedValue.trim();
+            if (name.isEmpty() || (currentRow == 0 && name.equalsIgnoreCase("name"))) {
+                return;
+            }
+            consumer.accept(name, currentRow);
+        }
+    }
+}
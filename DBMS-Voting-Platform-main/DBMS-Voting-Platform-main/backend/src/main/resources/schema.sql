@@ -11,9 +11,11 @@ CREATE TABLE IF NOT EXISTS users (
     password VARCHAR(255) NOT NULL COMMENT 'BCrypt hashed password',
     role VARCHAR(50) NOT NULL COMMENT 'ADMIN or VOTER',
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    import_job_id VARCHAR(36) NULL COMMENT 'Import job that created the voter',
     
     INDEX idx_users_email (email),
-    INDEX idx_users_role (role)
+    INDEX idx_users_role (role),
+    INDEX idx_users_import_job (import_job_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
 COMMENT='Stores user accounts (admins and voters)';
 
@@ -25,6 +27,7 @@ CREATE TABLE IF NOT EXISTS polls (
     start_date TIMESTAMP NOT NULL,
     end_date TIMESTAMP NOT NULL,
     status VARCHAR(50) NOT NULL DEFAULT 'PENDING' COMMENT 'PENDING, ACTIVE, or COMPLETED',
+    voting_method VARCHAR(16) NOT NULL DEFAULT 'PLURALITY' COMMENT 'PLURALITY, RANKED, or APPROVAL',
     created_by BIGINT,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     
@@ -65,11 +68,13 @@ CREATE TABLE IF NOT EXISTS votes (
     user_id BIGINT NOT NULL,
     voted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     ip_address VARCHAR(45) COMMENT 'IPv4 or IPv6 address',
+    receipt_id VARCHAR(36) NULL COMMENT 'Receipt returned for a write-behind vote',
     
     INDEX idx_votes_poll_id (poll_id),
     INDEX idx_votes_candidate_id (candidate_id),
     INDEX idx_votes_user_id (user_id),
     INDEX idx_votes_voted_at (voted_at),
+    INDEX idx_votes_receipt (receipt_id),
     
   
     CONSTRAINT uk_votes_poll_user 
@@ -95,6 +100,33 @@ CREATE TABLE IF NOT EXISTS votes (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
 COMMENT='Stores votes cast by users';
 
+CREATE TABLE IF NOT EXISTS preference_ballots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    poll_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    choices VARBINARY(1024) NOT NULL COMMENT 'Candidate ids as big-endian 32-bit ints, in preference order',
+    voted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ip_address VARCHAR(45) COMMENT 'IPv4 or IPv6 address',
+
+    INDEX idx_preference_ballots_user_id (user_id),
+
+    CONSTRAINT uk_preference_ballots_poll_user
+        UNIQUE (poll_id, user_id),
+
+    CONSTRAINT fk_preference_ballots_poll
+        FOREIGN KEY (poll_id)
+        REFERENCES polls(id)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE,
+
+    CONSTRAINT fk_preference_ballots_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT='Ranked and approval ballots, one row per voter and poll';
+
 CREATE TABLE IF NOT EXISTS ledger_entries (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     entity_type VARCHAR(32) NOT NULL,
@@ -104,7 +136,54 @@ CREATE TABLE IF NOT EXISTS ledger_entries (
     previous_hash CHAR(64),
     hash CHAR(64) NOT NULL,
     metadata TEXT,
-    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    INDEX idx_ledger_entity (entity_type, entity_id)
+    created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) COMMENT 'Part of the hash, so kept to the microsecond',
+    hash_version TINYINT NULL COMMENT 'Seed the hash was computed with; NULL for entries written before versions (legacy seed)',
+    INDEX idx_ledger_entity (entity_type, entity_id),
+    INDEX idx_ledger_entity_type_id (entity_type, id) COMMENT 'Newest-first pages filtered by type only'
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
 COMMENT='Immutable audit ledger with blockchain-style hashes';
+
+CREATE TABLE IF NOT EXISTS ledger_checkpoints (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    first_entry_id BIGINT NOT NULL,
+    last_entry_id BIGINT NOT NULL,
+    entry_count INT NOT NULL,
+    merkle_root CHAR(64) NOT NULL,
+    merkle_version TINYINT NULL COMMENT 'Tree layout of merkle_root; NULL for roots sealed before layouts were versioned (legacy)',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_ledger_checkpoints_last (last_entry_id),
+    INDEX idx_ledger_checkpoints_range (first_entry_id, last_entry_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT='Merkle roots sealing fixed-size blocks of ledger entries';
+
+CREATE TABLE IF NOT EXISTS poll_results (
+    poll_id BIGINT PRIMARY KEY,
+    total_votes BIGINT NOT NULL,
+    results TEXT NOT NULL,
+    results_hash CHAR(64) NOT NULL,
+    ledger_hash CHAR(64),
+    closed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_poll_results_poll
+        FOREIGN KEY (poll_id)
+        REFERENCES polls(id)
+        ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT='Final results of completed polls, written once at close';
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    file_name VARCHAR(255),
+    stored_path VARCHAR(512) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    total_rows INT,
+    processed_rows INT NOT NULL DEFAULT 0,
+    run_start_row INT NOT NULL DEFAULT 0,
+    attempts INT NOT NULL DEFAULT 0,
+    error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    INDEX idx_import_jobs_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT='Voter import jobs with the last committed chunk as checkpoint';
@@ -0,0 +1,187 @@
+package com.votingplatform.service;
+
+import com.votingplatform.entity.LedgerEntry;
+import com.votingplatform.repository.LedgerEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LedgerAppenderTest {
+
+    private final LedgerAppender appender = new LedgerAppender();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final LedgerEntryRepository repository = mock(LedgerEntryRepository.class);
+
+    // Every insert attempt's entries, copied, and whether it committed.
+    private final List<Attempt> attempts = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean databaseDown = new AtomicBoolean();
+
+    @BeforeEach
+    void startAppender() {
+        when(repository.findTopByOrderByIdDesc()).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            Collection<LedgerEntry> entries = invocation.getArgument(1);
+            boolean committed = !databaseDown.get();
+            attempts.add(new Attempt(List.copyOf(entries), committed));
+            if (!committed) {
+                throw new DataAccessResourceFailureException("database unreachable");
+            }
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+
+        ReflectionTestUtils.setField(appender, "ledgerEntryRepository", repository);
+        ReflectionTestUtils.setField(appender, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(appender, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(appender, "checkpointService", mock(LedgerCheckpointService.class));
+        ReflectionTestUtils.setField(appender, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(appender, "capacity", 1024);
+        ReflectionTestUtils.setField(appender, "batchSize", 4);
+        ReflectionTestUtils.setField(appender, "retryInitialMs", 5L);
+        ReflectionTestUtils.setField(appender, "retryMaxMs", 20L);
+        ReflectionTestUtils.setField(appender, "haltAfterAttempts", 2);
+        appender.start();
+    }
+
+    @AfterEach
+    void stopAppender() throws InterruptedException {
+        databaseDown.set(false);
+        appender.stop();
+    }
+
+    @Test
+    void entriesAreLinkedInAppendOrder() throws Exception {
+        List<CompletableFuture<LedgerEntry>> stored = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            stored.add(append(i));
+        }
+
+        List<LedgerEntry> chain = await(stored);
+
+        assertLinear(chain);
+    }
+
+    @Test
+    void failedBatchIsRetriedWithTheSameLinksAndLaterEntriesFollowIt() throws Exception {
+        databaseDown.set(true);
+        List<CompletableFuture<LedgerEntry>> stored = new ArrayList<>();
+        stored.add(append(0));
+        stored.add(append(1));
+        waitFor(() -> attempts.size() >= 2);
+
+        List<LedgerEntry> refusedBatch = attempts.get(0).entries();
+        databaseDown.set(false);
+        waitFor(this::writable);
+        for (int i = 2; i < 6; i++) {
+            stored.add(append(i));
+        }
+        List<LedgerEntry> chain = await(stored);
+
+        assertLinear(chain);
+        // Every failed attempt resent exactly what was first linked, ids and hashes included.
+        for (Attempt attempt : attempts) {
+            if (!attempt.committed()) {
+                assertThat(hashes(attempt.entries())).isEqualTo(hashes(refusedBatch));
+            }
+        }
+        assertThat(hashes(chain.subList(0, refusedBatch.size()))).isEqualTo(hashes(refusedBatch));
+    }
+
+    @Test
+    void appendsAreRefusedWhileHaltedAndAcceptedAfterRecovery() throws Exception {
+        databaseDown.set(true);
+        CompletableFuture<LedgerEntry> first = append(0);
+        waitFor(() -> !writable());
+
+        assertThatThrownBy(() -> append(1)).isInstanceOf(ServiceBusyException.class);
+
+        databaseDown.set(false);
+        LedgerEntry committed = first.get(5, TimeUnit.SECONDS);
+        appender.checkWritable();
+        LedgerEntry next = append(2).get(5, TimeUnit.SECONDS);
+
+        assertThat(committed.getId()).isEqualTo(1L);
+        assertThat(next.getId()).isEqualTo(2L);
+        assertThat(next.getPreviousHash()).isEqualTo(committed.getHash());
+    }
+
+    private CompletableFuture<LedgerEntry> append(int n) {
+        return appender.append(LedgerEntry.EntityType.VOTE, "CAST", (long) n, "vote-" + n, "Vote " + n);
+    }
+
+    private boolean writable() {
+        try {
+            appender.checkWritable();
+            return true;
+        } catch (ServiceBusyException e) {
+            return false;
+        }
+    }
+
+    private static List<LedgerEntry> await(List<CompletableFuture<LedgerEntry>> stored) throws Exception {
+        List<LedgerEntry> chain = new ArrayList<>();
+        for (CompletableFuture<LedgerEntry> future : stored) {
+            chain.add(future.get(5, TimeUnit.SECONDS));
+        }
+        return chain;
+    }
+
+    private static void assertLinear(List<LedgerEntry> chain) {
+        MessageDigest digest = LedgerAppender.sha256();
+        String previous = null;
+        for (int i = 0; i < chain.size(); i++) {
+            LedgerEntry entry = chain.get(i);
+            assertThat(entry.getId()).as("id of append %d", i).isEqualTo(i + 1L);
+            assertThat(entry.getEntityId()).as("entity of entry %d", entry.getId()).isEqualTo(i);
+            assertThat(entry.getPreviousHash()).as("link of entry %d", entry.getId()).isEqualTo(previous);
+            assertThat(LedgerAppender.entryHash(digest, entry)).as("hash of entry %d", entry.getId())
+                    .isEqualTo(entry.getHash());
+            if (i > 0) {
+                assertThat(entry.getCreatedAt()).isAfterOrEqualTo(chain.get(i - 1).getCreatedAt());
+            }
+            previous = entry.getHash();
+        }
+    }
+
+    private static List<String> hashes(List<LedgerEntry> entries) {
+        return entries.stream().map(entry -> entry.getId() + ":" + entry.getHash()).toList();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private record Attempt(List<LedgerEntry> entries, boolean committed) {
+    }
+}
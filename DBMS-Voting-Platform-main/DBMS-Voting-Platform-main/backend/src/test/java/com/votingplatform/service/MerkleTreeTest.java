@@ -0,0 +1,72 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.LedgerProofDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MerkleTreeTest {
+
+    @Test
+    void everyLeafProvesAgainstTheRootInBothLayouts() {
+        for (int version : new int[] {MerkleTree.VERSION_LEGACY, MerkleTree.VERSION_CURRENT}) {
+            for (int size = 1; size <= 9; size++) {
+                List<String> leaves = leaves(size);
+                String root = MerkleTree.root(leaves, version);
+                for (int index = 0; index < size; index++) {
+                    List<LedgerProofDTO.ProofStep> path = MerkleTree.proof(leaves, index, version);
+                    assertThat(MerkleTree.verify(leaves.get(index), path, root, version))
+                            .as("version %d, %d leaves, leaf %d", version, size, index)
+                            .isTrue();
+                }
+            }
+        }
+    }
+
+    @Test
+    void oddNodeIsCarriedUpSoADuplicatedLastLeafChangesTheRoot() {
+        List<String> three = leaves(3);
+        List<String> four = new ArrayList<>(three);
+        four.add(three.get(2));
+
+        assertThat(MerkleTree.root(three, MerkleTree.VERSION_LEGACY))
+                .isEqualTo(MerkleTree.root(four, MerkleTree.VERSION_LEGACY));
+        assertThat(MerkleTree.root(three)).isNotEqualTo(MerkleTree.root(four));
+        // Carried up without a sibling, the last leaf's path skips the lower level.
+        assertThat(MerkleTree.proof(three, 2, MerkleTree.VERSION_CURRENT)).hasSize(1);
+    }
+
+    @Test
+    void innerNodeVerifiesAsALeafOnlyInTheLegacyLayout() {
+        List<String> leaves = leaves(4);
+        for (int version : new int[] {MerkleTree.VERSION_LEGACY, MerkleTree.VERSION_CURRENT}) {
+            String root = MerkleTree.root(leaves, version);
+            // The node over leaves 0-1, offered as a leaf together with the node over leaves 2-3.
+            String inner = MerkleTree.proof(leaves, 2, version).get(1).getSiblingHash();
+            List<LedgerProofDTO.ProofStep> rest = MerkleTree.proof(leaves, 0, version).subList(1, 2);
+
+            assertThat(MerkleTree.verify(inner, rest, root, version))
+                    .as("version %d", version)
+                    .isEqualTo(version == MerkleTree.VERSION_LEGACY);
+        }
+    }
+
+    @Test
+    void singleLeafRootIsTheLeafOnlyInTheLegacyLayout() {
+        List<String> leaves = leaves(1);
+
+        assertThat(MerkleTree.root(leaves, MerkleTree.VERSION_LEGACY)).isEqualTo(leaves.get(0));
+        assertThat(MerkleTree.root(leaves)).isNotEqualTo(leaves.get(0));
+    }
+
+    private static List<String> leaves(int count) {
+        List<String> leaves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            leaves.add(LedgerAppender.hash(LedgerAppender.sha256(), "leaf-" + i));
+        }
+        return leaves;
+    }
+}
@@ -0,0 +1,150 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.VoteResultDTO;
+import com.votingplatform.entity.Poll;
+import com.votingplatform.entity.PollResult;
+import com.votingplatform.repository.PollRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PollLifecycleServiceTest {
+
+    private static final long POLL_ID = 5L;
+
+    private final PollLifecycleService lifecycle = new PollLifecycleService();
+    private final PollRepository pollRepository = mock(PollRepository.class);
+    private final PollMetadataCache pollMetadataCache = mock(PollMetadataCache.class);
+    private final LedgerService ledgerService = mock(LedgerService.class);
+    private final VoteTallyService voteTallyService = mock(VoteTallyService.class);
+    private final VoteIngestionService voteIngestionService = mock(VoteIngestionService.class);
+    private final ResultsPushService resultsPushService = mock(ResultsPushService.class);
+    private final PollResultsService pollResultsService = mock(PollResultsService.class);
+
+    private final List<VoteResultDTO> finalResults = List.of(new VoteResultDTO(1L, "Yes", 3L));
+
+    @BeforeEach
+    void startLifecycle() {
+        ReflectionTestUtils.setField(lifecycle, "pollRepository", pollRepository);
+        ReflectionTestUtils.setField(lifecycle, "pollMetadataCache", pollMetadataCache);
+        ReflectionTestUtils.setField(lifecycle, "ledgerService", ledgerService);
+        ReflectionTestUtils.setField(lifecycle, "voteTallyService", voteTallyService);
+        ReflectionTestUtils.setField(lifecycle, "tabulationService", mock(TabulationService.class));
+        ReflectionTestUtils.setField(lifecycle, "voteIngestionService", voteIngestionService);
+        ReflectionTestUtils.setField(lifecycle, "resultsPushService", resultsPushService);
+        ReflectionTestUtils.setField(lifecycle, "pollResultsService", pollResultsService);
+        ReflectionTestUtils.setField(lifecycle, "closeThreads", 1);
+        ReflectionTestUtils.setField(lifecycle, "settleTimeoutMs", 100L);
+
+        when(pollMetadataCache.reload(POLL_ID)).thenAnswer(invocation -> new PollMetadataCache.PollEntry(new Poll(), List.of()));
+        when(pollResultsService.getSnapshot(POLL_ID)).thenReturn(Optional.empty());
+        when(pollResultsService.publish(any(), any())).thenReturn(new PollResult());
+        when(voteTallyService.freeze(POLL_ID)).thenReturn(finalResults);
+        when(voteIngestionService.awaitSettled(anyLong())).thenReturn(true);
+        lifecycle.start();
+    }
+
+    @AfterEach
+    void stopLifecycle() throws InterruptedException {
+        lifecycle.stop();
+    }
+
+    @Test
+    void startAndEndInstantsBelongToTheLaterStatus() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 9, 0);
+        LocalDateTime end = start.plusHours(8);
+
+        assertThat(PollLifecycleService.statusAt(start, end, start.minusNanos(1))).isEqualTo(Poll.Status.PENDING);
+        assertThat(PollLifecycleService.statusAt(start, end, start)).isEqualTo(Poll.Status.ACTIVE);
+        assertThat(PollLifecycleService.statusAt(start, end, end.minusNanos(1))).isEqualTo(Poll.Status.ACTIVE);
+        assertThat(PollLifecycleService.statusAt(start, end, end)).isEqualTo(Poll.Status.COMPLETED);
+    }
+
+    @Test
+    void pendingPollOpensThenClosesWithItsResultsStored() {
+        Poll poll = poll(Poll.Status.PENDING, LocalDateTime.now().minusSeconds(1), LocalDateTime.now().plusNanos(300_000_000));
+        when(pollRepository.updateStatus(POLL_ID, Poll.Status.PENDING, Poll.Status.ACTIVE)).thenReturn(1);
+        when(pollRepository.updateStatus(POLL_ID, Poll.Status.ACTIVE, Poll.Status.COMPLETED)).thenReturn(1);
+
+        lifecycle.schedule(poll);
+
+        verify(ledgerService, timeout(2000)).recordPollOpened(poll);
+        verify(pollResultsService, timeout(2000)).publish(poll, finalResults);
+        verify(resultsPushService, timeout(2000)).closePoll(POLL_ID, finalResults);
+        assertThat(poll.getStatus()).isEqualTo(Poll.Status.COMPLETED);
+    }
+
+    @Test
+    void transitionsAnotherNodeMadeAreNotRecordedAgain() {
+        Poll poll = poll(Poll.Status.PENDING, LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1));
+        when(pollRepository.updateStatus(eq(POLL_ID), any(), any())).thenReturn(0);
+
+        lifecycle.schedule(poll);
+
+        // This node still pushes the final results to its own subscribers.
+        verify(resultsPushService, timeout(2000)).closePoll(POLL_ID, finalResults);
+        verify(ledgerService, never()).recordPollOpened(any());
+        verify(pollResultsService, never()).publish(any(), any());
+    }
+
+    @Test
+    void resultsAreNotFrozenWhileQueuedVotesMayBelongToThePoll() {
+        Poll poll = poll(Poll.Status.ACTIVE, LocalDateTime.now().minusHours(2), LocalDateTime.now().minusSeconds(1));
+        when(pollRepository.updateStatus(POLL_ID, Poll.Status.ACTIVE, Poll.Status.COMPLETED)).thenReturn(1);
+        when(voteIngestionService.awaitSettled(anyLong())).thenReturn(false);
+
+        lifecycle.schedule(poll);
+
+        verify(voteIngestionService, timeout(2000)).awaitSettled(100L);
+        verify(voteTallyService, after(300).never()).freeze(anyLong());
+        verify(pollResultsService, never()).publish(any(), any());
+        verify(resultsPushService, never()).closePoll(anyLong(), any());
+    }
+
+    @Test
+    void completedPollWithoutStoredResultsIsFinishedAgain() {
+        Poll poll = poll(Poll.Status.COMPLETED, LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1));
+
+        lifecycle.schedule(poll);
+
+        verify(pollResultsService, timeout(2000)).publish(poll, finalResults);
+        verify(pollRepository, never()).updateStatus(anyLong(), any(), any());
+    }
+
+    @Test
+    void completedPollWithStoredResultsIsLeftAlone() {
+        Poll poll = poll(Poll.Status.COMPLETED, LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1));
+        when(pollResultsService.getSnapshot(POLL_ID)).thenReturn(Optional.of(new PollResult()));
+
+        lifecycle.schedule(poll);
+
+        verify(pollRepository, after(300).never()).findById(anyLong());
+        verify(pollResultsService, never()).publish(any(), any());
+    }
+
+    private Poll poll(Poll.Status status, LocalDateTime start, LocalDateTime end) {
+        Poll poll = new Poll();
+        poll.setId(POLL_ID);
+        poll.setStatus(status);
+        poll.setStartDate(start);
+        poll.setEndDate(end);
+        when(pollRepository.findById(POLL_ID)).thenReturn(Optional.of(poll));
+        return poll;
+    }
+}
@@ -0,0 +1,154 @@
+package com.votingplatform.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TabulatorTest {
+
+    // Every count runs as one range on one thread unless a test asks otherwise.
+    private static final int NO_SPLIT = Integer.MAX_VALUE;
+
+    private static ForkJoinPool sequential;
+    private static ForkJoinPool parallel;
+
+    @BeforeAll
+    static void startPools() {
+        sequential = new ForkJoinPool(1);
+        parallel = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPools() {
+        sequential.shutdown();
+        parallel.shutdown();
+    }
+
+    @Test
+    void tieForLastWithNoEarlierRoundEliminatesHigherCandidateId() {
+        BallotColumns.Snapshot ballots = ballots(List.of(1L, 2L, 3L),
+                new long[] {1}, new long[] {1}, new long[] {1},
+                new long[] {2}, new long[] {2},
+                new long[] {3, 1}, new long[] {3, 1});
+
+        Tabulator.Result result = Tabulator.instantRunoff(ballots, sequential, NO_SPLIT);
+
+        assertThat(idOf(ballots, result.rounds().get(0).eliminated())).isEqualTo(3L);
+        assertThat(idOf(ballots, result.winner())).isEqualTo(1L);
+    }
+
+    @Test
+    void tieForLastGoesAgainstCandidateBehindInEarlierRound() {
+        // Round 1: 1=4, 3=3, 2=2, 4=1. Once 4 transfers to 2, candidates 2 and 3 tie on 3;
+        // 2 was behind in round 1, so it goes out even though the id rule would pick 3.
+        BallotColumns.Snapshot ballots = ballots(List.of(1L, 2L, 3L, 4L),
+                new long[] {1}, new long[] {1}, new long[] {1}, new long[] {1},
+                new long[] {3}, new long[] {3}, new long[] {3},
+                new long[] {2}, new long[] {2},
+                new long[] {4, 2});
+
+        Tabulator.Result result = Tabulator.instantRunoff(ballots, sequential, NO_SPLIT);
+
+        assertThat(result.rounds()).hasSize(3);
+        assertThat(idOf(ballots, result.rounds().get(0).eliminated())).isEqualTo(4L);
+        assertThat(idOf(ballots, result.rounds().get(1).eliminated())).isEqualTo(2L);
+        assertThat(idOf(ballots, result.winner())).isEqualTo(1L);
+    }
+
+    @Test
+    void exhaustedBallotsLeaveTheMajorityOfContinuingBallots() {
+        BallotColumns.Snapshot ballots = ballots(List.of(1L, 2L, 3L),
+                new long[] {1}, new long[] {1}, new long[] {1},
+                new long[] {2}, new long[] {2},
+                new long[] {3}, new long[] {3});
+
+        Tabulator.Result result = Tabulator.instantRunoff(ballots, sequential, NO_SPLIT);
+
+        assertThat(result.rounds()).hasSize(2);
+        assertThat(result.rounds().get(0).exhausted()).isZero();
+        Tabulator.Round last = result.rounds().get(1);
+        assertThat(last.exhausted()).isEqualTo(2);
+        assertThat(last.eliminated()).isEqualTo(-1);
+        // 3 of the 5 ballots still counting is a majority, although 3 of 7 is not.
+        assertThat(idOf(ballots, result.winner())).isEqualTo(1L);
+    }
+
+    @Test
+    void singleCandidateWinsInOneRound() {
+        BallotColumns.Snapshot ballots = ballots(List.of(7L), new long[] {7}, new long[] {7});
+
+        Tabulator.Result runoff = Tabulator.instantRunoff(ballots, sequential, NO_SPLIT);
+        Tabulator.Result approval = Tabulator.approval(ballots, sequential, NO_SPLIT);
+
+        assertThat(runoff.rounds()).hasSize(1);
+        assertThat(idOf(ballots, runoff.winner())).isEqualTo(7L);
+        assertThat(approval.rounds().get(0).counts()).containsExactly(2, 0);
+        assertThat(idOf(ballots, approval.winner())).isEqualTo(7L);
+    }
+
+    @Test
+    void zeroBallotsHaveNoWinner() {
+        BallotColumns.Snapshot ballots = ballots(List.of(1L, 2L, 3L));
+
+        Tabulator.Result runoff = Tabulator.instantRunoff(ballots, sequential, NO_SPLIT);
+        Tabulator.Result approval = Tabulator.approval(ballots, sequential, NO_SPLIT);
+
+        assertThat(runoff.rounds()).hasSize(1);
+        assertThat(runoff.rounds().get(0).counts()).containsOnly(0);
+        assertThat(runoff.winner()).isEqualTo(-1);
+        assertThat(approval.rounds().get(0).counts()).containsOnly(0);
+        assertThat(approval.winner()).isEqualTo(-1);
+    }
+
+    @Test
+    void forkJoinCountsMatchSequentialCounts() {
+        Random random = new Random(7);
+        BallotColumns columns = new BallotColumns();
+        for (int b = 0; b < 20_000; b++) {
+            // Skewed towards low ids so the runoff takes several rounds; some ballots are blank.
+            columns.append(random.longs(0, 8)
+                    .map(c -> random.nextBoolean() ? c / 2 : c)
+                    .map(c -> c + 1)
+                    .distinct()
+                    .limit(random.nextInt(5))
+                    .toArray());
+        }
+        BallotColumns.Snapshot ballots = columns.snapshot(LongStream.rangeClosed(1, 8).boxed().toList());
+
+        assertSameCount(Tabulator.instantRunoff(ballots, sequential, NO_SPLIT),
+                Tabulator.instantRunoff(ballots, parallel, 97));
+        assertSameCount(Tabulator.approval(ballots, sequential, NO_SPLIT),
+                Tabulator.approval(ballots, parallel, 97));
+    }
+
+    private static void assertSameCount(Tabulator.Result expected, Tabulator.Result actual) {
+        assertThat(actual.winner()).isEqualTo(expected.winner());
+        assertThat(actual.rounds()).hasSameSizeAs(expected.rounds());
+        for (int r = 0; r < expected.rounds().size(); r++) {
+            Tabulator.Round want = expected.rounds().get(r);
+            Tabulator.Round got = actual.rounds().get(r);
+            assertThat(got.counts()).as("round %d counts", r + 1).containsExactly(want.counts());
+            assertThat(got.eliminated()).as("round %d eliminated", r + 1).isEqualTo(want.eliminated());
+            assertThat(got.exhausted()).as("round %d exhausted", r + 1).isEqualTo(want.exhausted());
+        }
+    }
+
+    private static BallotColumns.Snapshot ballots(List<Long> candidateIds, long[]... rankings) {
+        BallotColumns columns = new BallotColumns();
+        for (long[] ranking : rankings) {
+            columns.append(ranking);
+        }
+        return columns.snapshot(candidateIds);
+    }
+
+    private static long idOf(BallotColumns.Snapshot ballots, int index) {
+        return ballots.candidateIds()[index];
+    }
+}
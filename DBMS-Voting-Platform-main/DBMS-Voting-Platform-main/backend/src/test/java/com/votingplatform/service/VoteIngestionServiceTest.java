@@ -0,0 +1,206 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.VoteReceiptDTO;
+import com.votingplatform.entity.Candidate;
+import com.votingplatform.entity.Poll;
+import com.votingplatform.entity.User;
+import com.votingplatform.entity.Vote;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class VoteIngestionServiceTest {
+
+    private static final long POLL_ID = 3L;
+    // Voters whose rows the database takes, already holds, cannot store, or refuses as the poll has closed.
+    private static final long STORED = 1L;
+    private static final long DUPLICATE = 2L;
+    private static final long BROKEN = 3L;
+    private static final long LATE = 4L;
+
+    private final VoteIngestionService ingestion = new VoteIngestionService();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final LedgerService ledgerService = mock(LedgerService.class);
+    private final VoteTallyService voteTallyService = mock(VoteTallyService.class);
+    private final VoterIndexService voterIndexService = new VoterIndexService();
+
+    private final Poll poll = new Poll();
+    private final Candidate candidate = new Candidate();
+    // Receipt ids of each ledger call, copied as the writer reuses its held list.
+    private final List<List<String>> ledgerCalls = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void startWriter() {
+        poll.setId(POLL_ID);
+        candidate.setId(8L);
+        candidate.setName("Yes");
+
+        doAnswer(invocation -> {
+            List<Vote> votes = invocation.getArgument(0);
+            ledgerCalls.add(votes.stream().map(Vote::getReceiptId).toList());
+            return null;
+        }).when(ledgerService).recordVotesCast(any());
+        // Row by row, each voter gets the outcome named above.
+        doAnswer(invocation -> {
+            long voter = boundVoter(invocation.<PreparedStatementSetter>getArgument(1));
+            if (voter == DUPLICATE) {
+                throw new DuplicateKeyException("uk_votes_poll_user");
+            }
+            if (voter == BROKEN) {
+                throw new DataIntegrityViolationException("ip_address too long");
+            }
+            return voter == LATE ? 0 : 1;
+        }).when(jdbcTemplate).update(anyString(), any(PreparedStatementSetter.class));
+
+        ReflectionTestUtils.setField(ingestion, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(ingestion, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(ingestion, "ledgerService", ledgerService);
+        ReflectionTestUtils.setField(ingestion, "voteWriteLock", new VoteWriteLock());
+        ReflectionTestUtils.setField(ingestion, "voteTallyService", voteTallyService);
+        ReflectionTestUtils.setField(ingestion, "voterIndexService", voterIndexService);
+        ReflectionTestUtils.setField(ingestion, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(ingestion, "mode", VoteIngestionService.Mode.WRITE_BEHIND);
+        ReflectionTestUtils.setField(ingestion, "durability", VoteIngestionService.Durability.FLUSHED);
+        ReflectionTestUtils.setField(ingestion, "queueCapacity", 100);
+        ReflectionTestUtils.setField(ingestion, "batchSize", 10);
+        ReflectionTestUtils.setField(ingestion, "flushIntervalMs", 50L);
+        ReflectionTestUtils.setField(ingestion, "enqueueTimeoutMs", 50L);
+        ReflectionTestUtils.setField(ingestion, "flushWaitTimeoutMs", 5000L);
+        ingestion.start();
+    }
+
+    @AfterEach
+    void stopWriter() throws InterruptedException {
+        ingestion.stop();
+    }
+
+    @Test
+    void failedBatchFallsBackToRowByRowInserts() {
+        doAnswer(invocation -> {
+            throw new DataAccessResourceFailureException("batch rejected");
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+
+        List<VoteIngestionService.PendingVote> queued = new ArrayList<>();
+        for (long voter = STORED; voter <= LATE; voter++) {
+            queued.add(submit(voter));
+        }
+
+        VoteReceiptDTO recorded = ingestion.awaitDurability(queued.get(0));
+        assertThat(recorded.getStatus()).isEqualTo("RECORDED");
+        assertThatThrownBy(() -> ingestion.awaitDurability(queued.get(1)))
+                .hasMessage("You have already voted in this poll");
+        assertThatThrownBy(() -> ingestion.awaitDurability(queued.get(2)))
+                .hasMessageStartingWith("Vote could not be recorded");
+        assertThatThrownBy(() -> ingestion.awaitDurability(queued.get(3)))
+                .hasMessage("Poll is not open for voting");
+
+        // Stored and duplicate voters keep their claims; the others may vote again.
+        assertThat(voterIndexService.hasVoted(POLL_ID, STORED)).isTrue();
+        assertThat(voterIndexService.hasVoted(POLL_ID, DUPLICATE)).isTrue();
+        assertThat(voterIndexService.hasVoted(POLL_ID, BROKEN)).isFalse();
+        assertThat(voterIndexService.hasVoted(POLL_ID, LATE)).isFalse();
+        verify(voteTallyService).recordVote(POLL_ID, 8L, "Yes");
+        assertThat(ledgerCalls).containsExactly(List.of(recorded.getReceiptId()));
+        assertThat(ingestion.awaitSettled(1000)).isTrue();
+    }
+
+    @Test
+    void batchRowsRefusedForAClosedPollAreRejected() {
+        doAnswer(invocation -> {
+            Collection<Object> batch = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            int[] counts = new int[batch.size()];
+            int i = 0;
+            for (Object vote : batch) {
+                PreparedStatement ps = mock(PreparedStatement.class);
+                setter.setValues(ps, vote);
+                counts[i++] = boundVoter(ps) == LATE ? 0 : 1;
+            }
+            return new int[][] {counts};
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+
+        VoteIngestionService.PendingVote stored = submit(STORED);
+        VoteIngestionService.PendingVote late = submit(LATE);
+
+        assertThat(ingestion.awaitDurability(stored).getStatus()).isEqualTo("RECORDED");
+        assertThatThrownBy(() -> ingestion.awaitDurability(late)).hasMessage("Poll is not open for voting");
+        assertThat(voterIndexService.hasVoted(POLL_ID, LATE)).isFalse();
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void ledgerEntriesRefusedAfterTheInsertAreAppendedBeforeTheNextBatch() {
+        doAnswer(invocation -> {
+            throw new DataAccessResourceFailureException("batch rejected");
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        doAnswer(invocation -> {
+            throw new ServiceBusyException("The audit ledger is unavailable, please retry shortly", 5);
+        }).doAnswer(invocation -> {
+            List<Vote> votes = invocation.getArgument(0);
+            ledgerCalls.add(votes.stream().map(Vote::getReceiptId).toList());
+            return null;
+        }).when(ledgerService).recordVotesCast(any());
+
+        // Stored even though its entry was refused; the row is committed by then.
+        VoteReceiptDTO first = ingestion.awaitDurability(submit(STORED));
+        assertThat(first.getStatus()).isEqualTo("RECORDED");
+        assertThat(ledgerCalls).isEmpty();
+
+        voterIndexService.release(POLL_ID, STORED);
+        VoteReceiptDTO second = ingestion.awaitDurability(submit(STORED));
+
+        assertThat(ledgerCalls).containsExactly(
+                List.of(first.getReceiptId()),
+                List.of(second.getReceiptId()));
+    }
+
+    private VoteIngestionService.PendingVote submit(long voterId) {
+        User voter = new User();
+        voter.setId(voterId);
+        assertThat(voterIndexService.tryClaim(POLL_ID, voterId)).isTrue();
+        return ingestion.submit(poll, candidate, voter, "127.0.0.1");
+    }
+
+    private static long boundVoter(PreparedStatementSetter setter) throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.setValues(ps);
+        return boundVoter(ps);
+    }
+
+    // The user id is the third parameter of the insert.
+    private static long boundVoter(PreparedStatement ps) throws Exception {
+        ArgumentCaptor<Long> voter = ArgumentCaptor.forClass(Long.class);
+        verify(ps).setLong(eq(3), voter.capture());
+        return voter.getValue();
+    }
+}
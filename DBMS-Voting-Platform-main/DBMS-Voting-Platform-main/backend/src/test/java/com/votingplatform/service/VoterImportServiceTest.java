@@ -0,0 +1,203 @@
+package com.votingplatform.service;
+
+import com.votingplatform.dto.VoterProvisionDTO;
+import com.votingplatform.entity.ImportJob;
+import com.votingplatform.repository.ImportJobRepository;
+import com.votingplatform.repository.UserRepository;
+import com.votingplatform.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VoterImportServiceTest {
+
+    private static final String JOB_ID = "job-1";
+    private static final List<String> NAMES =
+            List.of("Ana Lima", "Bo Chen", "Ana Lima", "Cy Diaz", "Ana Lima", "Di Eze", "Ana Lima");
+
+    @TempDir
+    Path storage;
+
+    private final VoterImportService importService = new VoterImportService();
+    private final ImportJobRepository importJobRepository = mock(ImportJobRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final ImportJob job = new ImportJob();
+    // Names and e-mails of the voters whose chunk committed, in insert order.
+    private final List<String> insertedNames = new CopyOnWriteArrayList<>();
+    private final List<String> insertedEmails = new CopyOnWriteArrayList<>();
+    private final AtomicInteger chunksBeforeOutage = new AtomicInteger(Integer.MAX_VALUE);
+
+    @BeforeEach
+    void startImports() throws Exception {
+        Path sheet = storage.resolve(JOB_ID + ".xlsx");
+        writeSheet(sheet);
+        job.setId(JOB_ID);
+        job.setFileName("voters.xlsx");
+        job.setStoredPath(sheet.toString());
+        job.setStatus(ImportJob.Status.FAILED);
+
+        when(importJobRepository.findByStatusIn(any())).thenReturn(List.of());
+        when(importJobRepository.existsById(JOB_ID)).thenReturn(true);
+        when(importJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+        when(importJobRepository.findByIdForUpdate(JOB_ID)).thenReturn(Optional.of(job));
+        when(userRepository.findAllEmailsLowercase()).thenAnswer(invocation -> new ArrayList<>(insertedEmails));
+        PasswordHashingExecutor passwordHashing = mock(PasswordHashingExecutor.class);
+        when(passwordHashing.encodeAsync(any(), any(), any())).thenReturn(CompletableFuture.completedFuture("hash"));
+
+        doAnswer(invocation -> {
+            if (chunksBeforeOutage.getAndDecrement() <= 0) {
+                throw new DataAccessResourceFailureException("database unreachable");
+            }
+            Collection<Object> chunk = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            for (Object voter : chunk) {
+                PreparedStatement ps = mock(PreparedStatement.class);
+                setter.setValues(ps, voter);
+                insertedNames.add(column(ps, 1));
+                insertedEmails.add(column(ps, 2));
+            }
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        // The checkpoint only moves with a committed chunk, as it shares the chunk's transaction.
+        when(jdbcTemplate.update(anyString(), anyInt(), eq(JOB_ID))).thenAnswer(invocation -> {
+            job.setProcessedRows(job.getProcessedRows() + (int) invocation.getArgument(1));
+            return 1;
+        });
+
+        ReflectionTestUtils.setField(importService, "importJobRepository", importJobRepository);
+        ReflectionTestUtils.setField(importService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(importService, "passwordHashing", passwordHashing);
+        ReflectionTestUtils.setField(importService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(importService, "namedJdbcTemplate", mock(NamedParameterJdbcTemplate.class));
+        ReflectionTestUtils.setField(importService, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(importService, "voterSearchIndex", mock(VoterSearchIndex.class));
+        ReflectionTestUtils.setField(importService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(importService, "workers", 1);
+        ReflectionTestUtils.setField(importService, "queueCapacity", 4);
+        ReflectionTestUtils.setField(importService, "chunkSize", 3);
+        ReflectionTestUtils.setField(importService, "storageDir", storage.toString());
+        ReflectionTestUtils.setField(importService, "resultsRetentionSeconds", 3600L);
+        importService.start();
+    }
+
+    @AfterEach
+    void stopImports() {
+        importService.stop();
+    }
+
+    @Test
+    void failedJobResumesAfterItsLastCommittedChunk() throws Exception {
+        chunksBeforeOutage.set(1);
+
+        importService.resumeImport(JOB_ID);
+        waitFor(() -> job.getStatus() == ImportJob.Status.FAILED && job.getFinishedAt() != null);
+
+        assertThat(job.getProcessedRows()).isEqualTo(3);
+        assertThat(job.getTotalRows()).isEqualTo(NAMES.size());
+        assertThat(job.getError()).isEqualTo("database unreachable");
+        assertThat(insertedNames).isEqualTo(NAMES.subList(0, 3));
+
+        chunksBeforeOutage.set(Integer.MAX_VALUE);
+        importService.resumeImport(JOB_ID);
+        // The upload is deleted once the job is marked completed.
+        Path upload = Path.of(job.getStoredPath());
+        waitFor(() -> job.getStatus() == ImportJob.Status.COMPLETED && !Files.exists(upload));
+
+        assertThat(job.getProcessedRows()).isEqualTo(NAMES.size());
+        assertThat(job.getRunStartRow()).isEqualTo(3);
+        assertThat(job.getAttempts()).isEqualTo(2);
+        assertThat(job.getError()).isNull();
+        // Every row went in exactly once, and e-mails stayed unique across the two runs.
+        assertThat(insertedNames).isEqualTo(NAMES);
+        assertThat(insertedEmails).doesNotHaveDuplicates()
+                .startsWith("ana.lima@voting.com", "bo.chen@voting.com", "ana.lima1@voting.com");
+        assertThat(importService.getResults(JOB_ID)).hasValueSatisfying(rows ->
+                assertThat(rows).extracting(VoterProvisionDTO::getEmail).isEqualTo(insertedEmails));
+    }
+
+    @Test
+    void onlyFailedJobsCanBeResumed() {
+        job.setStatus(ImportJob.Status.COMPLETED);
+
+        assertThatThrownBy(() -> importService.resumeImport(JOB_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Only failed import jobs can be resumed");
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+    }
+
+    @Test
+    void resumeIsRefusedOnceTheUploadIsGone() throws Exception {
+        Files.delete(Path.of(job.getStoredPath()));
+
+        assertThatThrownBy(() -> importService.resumeImport(JOB_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The uploaded file for this job is no longer available");
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.FAILED);
+    }
+
+    private static void writeSheet(Path path) throws Exception {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(path)) {
+            XSSFSheet sheet = workbook.createSheet("Voters");
+            sheet.createRow(0).createCell(0).setCellValue("Name");
+            for (int i = 0; i < NAMES.size(); i++) {
+                sheet.createRow(i + 1).createCell(0).setCellValue(NAMES.get(i));
+            }
+            workbook.write(out);
+        }
+    }
+
+    private static String column(PreparedStatement ps, int index) throws Exception {
+        ArgumentCaptor<String> value = ArgumentCaptor.forClass(String.class);
+        verify(ps).setString(eq(index), value.capture());
+        return value.getValue();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
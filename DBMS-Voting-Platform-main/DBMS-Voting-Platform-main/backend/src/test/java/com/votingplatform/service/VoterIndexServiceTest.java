@@ -0,0 +1,130 @@
+package com.votingplatform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VoterIndexServiceTest {
+
+    private final VoterIndexService index = new VoterIndexService();
+
+    @Test
+    void secondClaimIsRefusedUntilReleased() {
+        assertThat(index.tryClaim(1L, 42L)).isTrue();
+        assertThat(index.tryClaim(1L, 42L)).isFalse();
+        assertThat(index.hasVoted(1L, 42L)).isTrue();
+
+        index.release(1L, 42L);
+
+        assertThat(index.hasVoted(1L, 42L)).isFalse();
+        assertThat(index.tryClaim(1L, 42L)).isTrue();
+    }
+
+    @Test
+    void claimsAreKeptPerPollAndPerVoter() {
+        // Neighbours in one word, the last and first ids of a page, and a far page.
+        long[] voters = {0, 1, 63, 64, 65_535, 65_536, 5_000_000_000L};
+        for (long voter : voters) {
+            assertThat(index.tryClaim(1L, voter)).as("voter %d", voter).isTrue();
+        }
+
+        index.release(1L, 63L);
+
+        for (long voter : voters) {
+            assertThat(index.hasVoted(1L, voter)).as("voter %d", voter).isEqualTo(voter != 63);
+            assertThat(index.hasVoted(2L, voter)).as("voter %d in another poll", voter).isFalse();
+        }
+    }
+
+    @Test
+    void releasingAnUnclaimedVoterChangesNothing() {
+        index.release(7L, 3L);
+        assertThat(index.tryClaim(7L, 4L)).isTrue();
+
+        index.release(7L, 3L);
+
+        assertThat(index.hasVoted(7L, 4L)).isTrue();
+        assertThat(index.hasVoted(7L, 3L)).isFalse();
+    }
+
+    @Test
+    void claimAllTakesEveryPollOrNone() {
+        assertThat(index.tryClaim(2L, 9L)).isTrue();
+
+        assertThat(index.tryClaimAll(List.of(1L, 2L, 3L), 9L)).isFalse();
+
+        // Poll 1 was given back, poll 3 never taken, and the earlier claim on poll 2 stays.
+        assertThat(index.hasVoted(1L, 9L)).isFalse();
+        assertThat(index.hasVoted(2L, 9L)).isTrue();
+        assertThat(index.hasVoted(3L, 9L)).isFalse();
+
+        index.release(2L, 9L);
+        assertThat(index.tryClaimAll(List.of(1L, 2L, 3L), 9L)).isTrue();
+        assertThat(index.hasVoted(3L, 9L)).isTrue();
+    }
+
+    @Test
+    void concurrentClaimsForOneVoterAdmitExactlyOne() throws Exception {
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (long voter = 0; voter < 200; voter++) {
+                long id = voter;
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicInteger admitted = new AtomicInteger();
+                List<Future<?>> claims = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    claims.add(pool.submit(() -> {
+                        start.await();
+                        if (index.tryClaim(1L, id)) {
+                            admitted.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> claim : claims) {
+                    claim.get(10, TimeUnit.SECONDS);
+                }
+                assertThat(admitted.get()).as("voter %d", voter).isEqualTo(1);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentClaimsForNeighbouringVotersAllSucceed() throws Exception {
+        // All 64 voters share one word, so their compare-and-sets contend.
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> claims = new ArrayList<>();
+            for (long voter = 0; voter < 64; voter++) {
+                long id = voter;
+                claims.add(pool.submit(() -> {
+                    start.await();
+                    return index.tryClaim(1L, id);
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> claim : claims) {
+                assertThat(claim.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+            for (long voter = 0; voter < 64; voter++) {
+                assertThat(index.hasVoted(1L, voter)).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
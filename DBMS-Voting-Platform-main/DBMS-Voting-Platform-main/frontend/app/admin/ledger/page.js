@@ -10,34 +10,25 @@ import { Card, CardContent, CardDescription, CardHeader, CardTitle } from '@/com
 import { Badge } from '@/components/ui/badge'
 import { AlertTriangle, ArrowLeft, Link as LinkIcon, ListChecks, Loader2, RefreshCw, ShieldCheck } from 'lucide-react'
 
-const verifyLedger = (entries) => {
-  if (!entries?.length) {
-    return { isValid: true, total: 0, issues: [], ordered: [] }
-  }
-
-  const ordered = [...entries].sort((a, b) => new Date(a.createdAt) - new Date(b.createdAt))
+// Links between the loaded entries, in chain (id) order; the server check covers the whole ledger
+const findBrokenLinks = (entries) => {
+  const ordered = [...entries].sort((a, b) => a.id - b.id)
   const issues = []
 
   for (let i = 1; i < ordered.length; i++) {
     const previous = ordered[i - 1]
     const current = ordered[i]
 
-    if (!current.previousHash || current.previousHash !== previous.hash) {
+    if (current.id === previous.id + 1 && current.previousHash !== previous.hash) {
       issues.push({
         id: current.id,
-        index: i,
         expected: previous.hash,
         actual: current.previousHash,
       })
     }
   }
 
-  return {
-    isValid: issues.length === 0,
-    total: ordered.length,
-    issues,
-    ordered,
-  }
+  return issues
 }
 
 const truncateHash = (value) => {
@@ -49,8 +40,12 @@ const truncateHash = (value) => {
 export default function LedgerProofPage() {
   const router = useRouter()
   const [entries, setEntries] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
+  const [verification, setVerification] = useState(null)
   const [isLoading, setIsLoading] = useState(true)
   const [isRefreshing, setIsRefreshing] = useState(false)
+  const [isLoadingMore, setIsLoadingMore] = useState(false)
+  const [isVerifying, setIsVerifying] = useState(false)
   const [error, setError] = useState('')
 
   const fetchLedger = useCallback(async (showSpinner = true) => {
@@ -62,8 +57,11 @@ export default function LedgerProofPage() {
     setError('')
 
     try {
-      const data = await ledgerApi.getEntries()
-      setEntries(data)
+      const page = await ledgerApi.getEntries()
+      setEntries(page.entries)
+      setNextCursor(page.nextCursor)
+      // An earlier result does not cover entries appended since
+      setVerification(null)
     } catch (err) {
       const message = err.response?.data?.message || 'Unable to load ledger entries right now.'
       setError(message)
@@ -76,13 +74,45 @@ export default function LedgerProofPage() {
     }
   }, [])
 
+  // Walks the whole ledger on the server, so it only runs when asked for
+  const verifyChain = async () => {
+    setIsVerifying(true)
+    setError('')
+    try {
+      setVerification(await ledgerApi.verify())
+    } catch (err) {
+      const message = err.response?.data?.message || 'Unable to verify the ledger right now.'
+      setError(message)
+    } finally {
+      setIsVerifying(false)
+    }
+  }
+
+  const loadOlder = async () => {
+    if (!nextCursor) {
+      return
+    }
+
+    setIsLoadingMore(true)
+    try {
+      const page = await ledgerApi.getEntries(nextCursor)
+      setEntries((previous) => [...previous, ...page.entries])
+      setNextCursor(page.nextCursor)
+    } catch (err) {
+      setError('Unable to load older ledger entries right now.')
+    } finally {
+      setIsLoadingMore(false)
+    }
+  }
+
   useEffect(() => {
     fetchLedger(true)
   }, [fetchLedger])
 
-  const verification = useMemo(() => verifyLedger(entries), [entries])
+  const brokenLinks = useMemo(() => findBrokenLinks(entries), [entries])
+  const isValid = (verification?.valid ?? true) && brokenLinks.length === 0
   const latestEntry = entries[0] || null
-  const invalidEntryIds = useMemo(() => new Set(verification.issues.map((issue) => issue.id)), [verification.issues])
+  const invalidEntryIds = useMemo(() => new Set(brokenLinks.map((issue) => issue.id)), [brokenLinks])
 
   return (
     <ProtectedRoute requiredRole="ADMIN">
@@ -107,6 +137,10 @@ export default function LedgerProofPage() {
                 {isRefreshing ? <Loader2 className="h-4 w-4 mr-2 animate-spin" /> : <RefreshCw className="h-4 w-4 mr-2" />}
                 {isRefreshing ? 'Refreshing…' : 'Refresh Ledger'}
               </Button>
+              <Button variant="outline" onClick={verifyChain} disabled={isVerifying}>
+                {isVerifying ? <Loader2 className="h-4 w-4 mr-2 animate-spin" /> : <ShieldCheck className="h-4 w-4 mr-2" />}
+                {isVerifying ? 'Verifying…' : 'Verify Chain'}
+              </Button>
             </div>
           </div>
 
@@ -116,23 +150,35 @@ export default function LedgerProofPage() {
                 <LinkIcon className="h-5 w-5" />
                 Chain Health Snapshot
               </CardTitle>
-              <CardDescription>Live verification based on the hashes issued by the backend ledger service.</CardDescription>
+              <CardDescription>
+                Verify Chain has the server recompute every entry's hash and link, from the first block to the latest.
+                Links between the loaded entries are checked on every load.
+              </CardDescription>
             </CardHeader>
             <CardContent className="space-y-4">
               {error && <p className="text-destructive text-sm">{error}</p>}
               <div className="grid gap-4 md:grid-cols-4">
                 <div>
                   <p className="text-sm text-muted-foreground">Integrity Status</p>
-                  <Badge
-                    variant={verification.isValid ? 'default' : 'destructive'}
-                    className={verification.isValid ? 'bg-emerald-600 text-white hover:bg-emerald-700' : ''}
-                  >
-                    {verification.isValid ? 'Chain Verified' : 'Attention Required'}
-                  </Badge>
+                  {isValid && !verification ? (
+                    <Badge variant="secondary">Not Verified Yet</Badge>
+                  ) : (
+                    <Badge
+                      variant={isValid ? 'default' : 'destructive'}
+                      className={isValid ? 'bg-emerald-600 text-white hover:bg-emerald-700' : ''}
+                    >
+                      {isValid ? 'Chain Verified' : 'Attention Required'}
+                    </Badge>
+                  )}
                 </div>
                 <div>
                   <p className="text-sm text-muted-foreground">Blocks Audited</p>
-                  <p className="text-2xl font-semibold">{verification.total}</p>
+                  <p className="text-2xl font-semibold">{verification ? verification.entriesVerified : '—'}</p>
+                  {verification?.legacyEntriesLinkOnly > 0 && (
+                    <p className="text-xs text-muted-foreground">
+                      {verification.legacyEntriesLinkOnly} legacy entries checked by link only
+                    </p>
+                  )}
                 </div>
                 <div className="md:col-span-2">
                   <p className="text-sm text-muted-foreground">Latest Block Hash</p>
@@ -161,12 +207,15 @@ export default function LedgerProofPage() {
                 </div>
               )}
 
-              {!verification.isValid && (
+              {!isValid && (
                 <div className="rounded-md border border-destructive/40 bg-destructive/10 p-4 text-sm text-destructive space-y-2">
                   <p className="font-semibold flex items-center gap-2">
                     <AlertTriangle className="h-4 w-4" /> Chain break detected
                   </p>
-                  {verification.issues.map((issue) => (
+                  {verification?.failures?.map((failure) => (
+                    <p key={failure}>{failure}</p>
+                  ))}
+                  {brokenLinks.map((issue) => (
                     <p key={issue.id}>
                       Block #{issue.id} expected previous hash {truncateHash(issue.expected)} but found {truncateHash(issue.actual || 'null')}.
                     </p>
@@ -179,7 +228,7 @@ export default function LedgerProofPage() {
           <Card>
             <CardHeader>
               <CardTitle>Ledger Entries</CardTitle>
-              <CardDescription>Newest entries are shown first. Chain validation runs chronologically.</CardDescription>
+              <CardDescription>Newest entries are shown first. Links are checked in block order.</CardDescription>
             </CardHeader>
             <CardContent>
               {isLoading ? (
@@ -222,6 +271,14 @@ export default function LedgerProofPage() {
                       })}
                     </tbody>
                   </table>
+                  {nextCursor && (
+                    <div className="border-t p-3 text-center">
+                      <Button variant="outline" onClick={loadOlder} disabled={isLoadingMore}>
+                        {isLoadingMore ? <Loader2 className="h-4 w-4 mr-2 animate-spin" /> : null}
+                        {isLoadingMore ? 'Loading…' : 'Load older entries'}
+                      </Button>
+                    </div>
+                  )}
                 </div>
               ) : (
                 <p className="text-sm text-muted-foreground">No ledger entries yet. Create a poll or cast a vote to generate the first block.</p>
@@ -239,7 +296,7 @@ export default function LedgerProofPage() {
             </CardHeader>
             <CardContent>
               <ol className="list-decimal pl-6 space-y-2 text-sm text-muted-foreground">
-                <li>Perform an admin action (e.g., create a poll or cast a test vote), then click <strong>Refresh Ledger</strong> to append the new block.</li>
+                <li>Perform an admin action (e.g., create a poll or cast a test vote), then click <strong>Refresh Ledger</strong> to append the new block and <strong>Verify Chain</strong> to have the server check it.</li>
                 <li>Highlight the <strong>Latest Block Hash</strong> and explain that any tampering changes this value and the corresponding <em>Previous Hash</em> on the next block.</li>
                 <li>Scroll through the table to show that each block references the hash from the previous block. Any mismatch would surface immediately in the integrity alert area above.</li>
                 <li>Optionally export the table (browser print or copy) so external reviewers can independently recompute SHA-256 hashes using the listed metadata.</li>
@@ -1,6 +1,6 @@
 'use client'
 
-import { useState } from 'react'
+import { useEffect, useState } from 'react'
 import { useRouter } from 'next/navigation'
 import { ProtectedRoute } from '@/components/protected-route'
 import { Button } from '@/components/ui/button'
@@ -8,7 +8,7 @@ import { Card, CardContent, CardDescription, CardHeader, CardTitle } from '@/com
 import { Input } from '@/components/ui/input'
 import { adminApi } from '@/lib/api'
 import { formatDateTime } from '@/lib/utils'
-import { Upload, Search, Loader2, FileSpreadsheet, ArrowLeft } from 'lucide-react'
+import { Upload, Search, Loader2, FileSpreadsheet, ArrowLeft, RotateCw } from 'lucide-react'
 
 export default function VoterManagementPage() {
   const router = useRouter()
@@ -16,11 +16,14 @@ export default function VoterManagementPage() {
   const [isUploading, setIsUploading] = useState(false)
   const [importResults, setImportResults] = useState([])
   const [importError, setImportError] = useState('')
+  const [importJob, setImportJob] = useState(null)
 
   const [query, setQuery] = useState('')
   const [isSearching, setIsSearching] = useState(false)
   const [searchResults, setSearchResults] = useState([])
   const [searchError, setSearchError] = useState('')
+  const [searchPage, setSearchPage] = useState(0)
+  const [hasMoreResults, setHasMoreResults] = useState(false)
 
   const handleUpload = async () => {
     if (!file) {
@@ -33,34 +36,138 @@ export default function VoterManagementPage() {
 
     setIsUploading(true)
     setImportError('')
+    setImportResults([])
     try {
-      const data = await adminApi.importVoters(formData)
-      setImportResults(data)
+      const job = await adminApi.importVoters(formData)
+      setImportJob(job)
       setFile(null)
     } catch (error) {
       const message = error.response?.data?.message || 'Failed to import voters'
       setImportError(message)
-      setImportResults([])
+      setIsUploading(false)
+    }
+  }
+
+  const handleResume = async () => {
+    if (!importJob) {
+      return
+    }
+
+    setIsUploading(true)
+    setImportError('')
+    try {
+      const job = await adminApi.resumeImport(importJob.jobId)
+      setImportJob(job)
+    } catch (error) {
+      const message = error.response?.data?.message || 'Failed to resume import'
+      setImportError(message)
+      setIsUploading(false)
+    }
+  }
+
+  // Temporary passwords are only kept for a while; this replaces them with new ones
+  const handleReissue = async () => {
+    if (!importJob) {
+      return
+    }
+
+    setIsUploading(true)
+    setImportError('')
+    try {
+      setImportResults(await adminApi.reissuePasswords(importJob.jobId))
+    } catch (error) {
+      const message = error.response?.data?.message || 'Failed to re-issue passwords'
+      setImportError(message)
     } finally {
       setIsUploading(false)
     }
   }
 
-  const handleSearch = async () => {
+  // Poll the running import job until it completes or fails
+  useEffect(() => {
+    if (!importJob || importJob.status === 'COMPLETED' || importJob.status === 'FAILED') {
+      return
+    }
+
+    const timer = setTimeout(async () => {
+      try {
+        const job = await adminApi.getImportProgress(importJob.jobId)
+        if (job.status === 'COMPLETED' || job.status === 'FAILED') {
+          if (job.resultsAvailable > 0) {
+            setImportResults(await adminApi.getImportResults(job.jobId))
+          }
+          if (job.status === 'FAILED') {
+            setImportError(job.error || 'Import failed')
+          }
+          setIsUploading(false)
+        }
+        setImportJob(job)
+      } catch (error) {
+        setImportError('Lost track of the import job')
+        setIsUploading(false)
+      }
+    }, 1000)
+
+    return () => clearTimeout(timer)
+  }, [importJob])
+
+  const renderImportProgress = () => {
+    if (!importJob) {
+      return null
+    }
+
+    const total = importJob.totalRows
+    const percent = total ? Math.floor((importJob.processedRows / total) * 100) : 0
+
+    return (
+      <div className="space-y-2 text-sm">
+        <div className="flex items-center justify-between">
+          <span>
+            {importJob.status} — {importJob.processedRows}{total != null ? ` / ${total}` : ''} rows
+          </span>
+          {importJob.status === 'RUNNING' && (
+            <span className="text-muted-foreground">
+              {Math.round(importJob.rowsPerSecond)} rows/s
+              {importJob.etaSeconds != null ? ` · ETA ${importJob.etaSeconds}s` : ''}
+            </span>
+          )}
+        </div>
+        <div className="h-2 w-full rounded bg-muted">
+          <div className="h-2 rounded bg-primary" style={{ width: `${percent}%` }} />
+        </div>
+        {importJob.status === 'FAILED' && (
+          <Button variant="outline" onClick={handleResume} disabled={isUploading}>
+            <RotateCw className="h-4 w-4 mr-2" /> Resume Import
+          </Button>
+        )}
+        {importJob.status === 'COMPLETED' && !importResults.length && (
+          <Button variant="outline" onClick={handleReissue} disabled={isUploading}>
+            <RotateCw className="h-4 w-4 mr-2" /> Re-issue Passwords
+          </Button>
+        )}
+      </div>
+    )
+  }
+
+  const handleSearch = async (page = 0) => {
     if (!query.trim()) {
       setSearchResults([])
       setSearchError('')
+      setHasMoreResults(false)
       return
     }
 
     setIsSearching(true)
     setSearchError('')
     try {
-      const results = await adminApi.searchVoters(query.trim())
-      setSearchResults(results)
+      const { results, hasMore } = await adminApi.searchVoters(query.trim(), page)
+      setSearchResults((previous) => (page === 0 ? results : [...previous, ...results]))
+      setSearchPage(page)
+      setHasMoreResults(hasMore)
     } catch (error) {
       setSearchError('Failed to search for voters')
       setSearchResults([])
+      setHasMoreResults(false)
     } finally {
       setIsSearching(false)
     }
@@ -153,7 +260,7 @@ export default function VoterManagementPage() {
               {importError && <p className="text-destructive text-sm">{importError}</p>}
               <Input
                 type="file"
-                accept=".xlsx,.xls"
+                accept=".xlsx"
                 onChange={(e) => {
                   setFile(e.target.files?.[0] || null)
                   setImportError('')
@@ -163,6 +270,7 @@ export default function VoterManagementPage() {
                 {isUploading ? <Loader2 className="h-4 w-4 mr-2 animate-spin" /> : <Upload className="h-4 w-4 mr-2" />}
                 {isUploading ? 'Processing…' : 'Import Voters'}
               </Button>
+              {renderImportProgress()}
               {renderImportTable()}
             </CardContent>
           </Card>
@@ -182,12 +290,17 @@ export default function VoterManagementPage() {
                   value={query}
                   onChange={(e) => setQuery(e.target.value)}
                 />
-                <Button onClick={handleSearch} disabled={isSearching}>
+                <Button onClick={() => handleSearch(0)} disabled={isSearching}>
                   {isSearching ? <Loader2 className="h-4 w-4 mr-2 animate-spin" /> : <Search className="h-4 w-4 mr-2" />}
                   {isSearching ? 'Searching…' : 'Search'}
                 </Button>
               </div>
               {renderSearchTable()}
+              {hasMoreResults && (
+                <Button variant="outline" onClick={() => handleSearch(searchPage + 1)} disabled={isSearching}>
+                  Load more
+                </Button>
+              )}
             </CardContent>
           </Card>
         </div>
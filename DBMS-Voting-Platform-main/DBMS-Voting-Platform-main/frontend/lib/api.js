@@ -112,11 +112,34 @@ export const adminApi = {
     return response.data
   },
 
-  searchVoters: async (query) => {
+  getImportProgress: async (jobId) => {
+    const response = await api.get(`/admin/voters/import/${jobId}/progress`)
+    return response.data
+  },
+
+  getImportResults: async (jobId) => {
+    const response = await api.get(`/admin/voters/import/${jobId}/results`)
+    return response.data
+  },
+
+  resumeImport: async (jobId) => {
+    const response = await api.post(`/admin/voters/import/${jobId}/resume`)
+    return response.data
+  },
+
+  reissuePasswords: async (jobId) => {
+    const response = await api.post(`/admin/voters/import/${jobId}/reissue-passwords`)
+    return response.data
+  },
+
+  searchVoters: async (query, page = 0) => {
     const response = await api.get('/admin/voters/search', {
-      params: { q: query },
+      params: { q: query, page },
     })
-    return response.data
+    return {
+      results: response.data,
+      hasMore: response.headers['x-has-more'] === 'true',
+    }
   },
 
   deleteAllVoters: async () => {
@@ -126,8 +149,21 @@ export const adminApi = {
 }
 
 export const ledgerApi = {
-  getEntries: async () => {
-    const response = await api.get('/ledger')
+  // Newest first; pass the returned cursor as beforeId to get the next, older page
+  getEntries: async (beforeId, limit = 200) => {
+    const response = await api.get('/ledger', {
+      params: beforeId ? { beforeId, limit } : { limit },
+    })
+    return {
+      entries: response.data,
+      // A short page is the oldest one
+      nextCursor: response.data.length === limit ? response.headers['x-next-cursor'] : null,
+    }
+  },
+
+  // Recomputes every entry's hash and link on the server
+  verify: async () => {
+    const response = await api.get('/ledger/verify')
     return response.data
   },
 
@@ -177,6 +213,11 @@ export const voteApi = {
     return response.data
   },
   
+  getReceipt: async (receiptId) => {
+    const response = await api.get(`/votes/receipts/${receiptId}`)
+    return response.data
+  },
+  
   getPollResults: async (pollId) => {
     const response = await api.get(`/votes/poll/${pollId}/results`)
     return response.data
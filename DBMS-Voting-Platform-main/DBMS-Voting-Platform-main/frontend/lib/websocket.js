@@ -38,19 +38,81 @@ export function useWebSocket(event, callback) {
   return socket
 }
 
+const API_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080/api'
+
+const RETRY_BASE_MS = 2000
+const RETRY_MAX_MS = 60000
+
+// Live results come from the backend's server-sent events stream. fetch is used
+// instead of EventSource so the JWT can be sent in the Authorization header.
+// The stream ends for good after the event marked final (the poll has closed)
+// or a 4xx answer such as an unknown poll; otherwise it reconnects, backing off
+// while attempts keep failing.
 export function subscribeToResults(pollId, callback) {
-  const socket = io(WS_URL, {
-    transports: ['websocket'],
-    auth: {
-      token: localStorage.getItem('token'),
-    },
-  })
+  const controller = new AbortController()
+
+  const connect = async () => {
+    let retryMs = RETRY_BASE_MS
+
+    while (!controller.signal.aborted) {
+      try {
+        const response = await fetch(`${API_URL}/votes/poll/${pollId}/stream`, {
+          headers: {
+            Accept: 'text/event-stream',
+            Authorization: `Bearer ${localStorage.getItem('token')}`,
+          },
+          signal: controller.signal,
+        })
+        if (response.status >= 400 && response.status < 500) {
+          return
+        }
+        if (!response.ok) {
+          throw new Error(`Results stream answered ${response.status}`)
+        }
+        const reader = response.body.getReader()
+        const decoder = new TextDecoder()
+        let buffer = ''
+
+        while (true) {
+          const { value, done } = await reader.read()
+          if (done) break
+          buffer += decoder.decode(value, { stream: true })
+
+          let boundary
+          while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+            const message = buffer.slice(0, boundary)
+            buffer = buffer.slice(boundary + 2)
+            const data = message
+              .split('\n')
+              .filter((line) => line.startsWith('data:'))
+              .map((line) => line.slice(5))
+              .join('\n')
+            if (data) {
+              const update = JSON.parse(data)
+              callback(update)
+              if (update.final) {
+                controller.abort()
+                return
+              }
+              // The connection works again
+              retryMs = RETRY_BASE_MS
+            }
+          }
+        }
+        // The server ended a healthy stream, e.g. on its timeout: reconnect promptly
+        retryMs = RETRY_BASE_MS
+      } catch (error) {
+        if (controller.signal.aborted) return
+        retryMs = Math.min(retryMs * 2, RETRY_MAX_MS)
+      }
+      // Jittered so viewers dropped together do not all come back at once
+      await new Promise((resolve) => setTimeout(resolve, retryMs / 2 + Math.random() * (retryMs / 2)))
+    }
+  }
 
-  socket.emit('subscribe-results', { pollId })
-  socket.on('results-update', callback)
+  connect()
 
   return () => {
-    socket.emit('unsubscribe-results', { pollId })
-    socket.close()
+    controller.abort()
   }
 }